@@ -0,0 +1,75 @@
+package com.kloudly.jacoco;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Calculator.reduce against folding the values one pairwise
+ * Calculator.calculate call at a time, and against a plain loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReduceBenchmark {
+    @Param({"1024", "65536", "4194304"})
+    private int length;
+
+    @Param({"+", "*"})
+    private String operator;
+
+    private Calculator calculator;
+    private double[] values;
+    private char op;
+
+    @Setup
+    public void setUp(){
+        calculator = new Calculator();
+        op = operator.charAt(0);
+        //close to 1 so that long products neither overflow nor underflow
+        values = new Random(42).doubles(length, 0.999, 1.001).toArray();
+    }
+
+    @Benchmark
+    public double calculatorLoop(){
+        double result = values[0];
+        for(int i = 1; i < values.length; i++){
+            result = calculator.calculate(result, values[i], op);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double naiveLoop(){
+        double result = values[0];
+        if(op == '+'){
+            for(int i = 1; i < values.length; i++){
+                result += values[i];
+            }
+        }else{
+            for(int i = 1; i < values.length; i++){
+                result *= values[i];
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double reduce(){
+        return calculator.reduce(values, op);
+    }
+}
@@ -1,4 +1,7 @@
 package com.kloudly.jacoco;
+
+import java.util.concurrent.ForkJoinPool;
+
 public class Calculator {
     public double calculate(double firstOperand, double secondOperand, char operator){
         switch (operator){
@@ -19,6 +22,65 @@ public class Calculator {
         }
     }
 
+    /**
+     * Applies operator to every lane: out[i] = a[i] operator b[i].
+     * Nothing is thrown mid-batch: the lanes divided by zero hold NaN.
+     *
+     * @return the lanes divided by zero, bit i % 64 of word i / 64 being set
+     * for lane i
+     * @throws IllegalArgumentException if the operator is not supported or
+     * the lengths differ, before anything is written
+     */
+    public long[] calculate(double[] a, double[] b, char operator, double[] out){
+        return ColumnOperations.calculate(a, b, operator, out);
+    }
+
+    /**
+     * Same as {@link #calculate(double[], double[], char, double[])} with b
+     * on every lane.
+     */
+    public long[] calculate(double[] a, double b, char operator, double[] out){
+        return ColumnOperations.calculate(a, b, operator, out);
+    }
+
+    /**
+     * Same as {@link #calculate(double[], double[], char, double[])} with a
+     * on every lane.
+     */
+    public long[] calculate(double a, double[] b, char operator, double[] out){
+        return ColumnOperations.calculate(a, b, operator, out);
+    }
+
+    /**
+     * Folds values from left to right with operator, in parallel on the
+     * common fork-join pool: values[0] operator values[1] operator ...
+     * Sums are compensated, see {@link Reductions} for the error bounds.
+     * Divisions do not overflow nor underflow on the way, and may be finite
+     * where the fold computed pairwise with calculate is not.
+     *
+     * @return 0 for no value added, 1 for no value multiplied
+     * @throws IllegalArgumentException if the operator is not supported,
+     * if a divisor is zero, or if there is no value to subtract or divide
+     */
+    public double reduce(double[] values, char operator){
+        return reduce(values, operator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #reduce(double[], char)} on the given pool.
+     */
+    public double reduce(double[] values, char operator, ForkJoinPool pool){
+        return Reductions.reduce(values, operator, pool, Reductions.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @return the formula compiled into an evaluator that can be reused
+     * with different variable values, see {@link Expression}
+     */
+    public Expression compile(String formula){
+        return Expression.compile(formula);
+    }
+
     private double divide(double firstOperand, double secondOperand) {
         if(secondOperand == 0)
             throw new IllegalArgumentException("Second argument must not be zero!");
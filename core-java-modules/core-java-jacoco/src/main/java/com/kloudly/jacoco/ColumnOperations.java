@@ -0,0 +1,151 @@
+package com.kloudly.jacoco;
+
+import java.util.Arrays;
+
+/**
+ * The column loops behind the array variants of Calculator.calculate. The
+ * operator is selected once per column, and every operator runs in its own
+ * counted loop without calls nor branches, which C2 compiles to SIMD code.
+ * <p>
+ * The zero divisors are collected in a bitmask first, one bit per lane, so
+ * that out may also be one of the columns. Divisions are then computed for
+ * every lane, and the lanes of the mask set to NaN.
+ */
+final class ColumnOperations {
+
+    private ColumnOperations(){
+    }
+
+    static long[] calculate(double[] a, double[] b, char operator, double[] out){
+        int n = checkLengths(a.length, b.length, out);
+        switch (checkOperator(operator)){
+            case '+':
+                for(int i = 0; i < n; i++){
+                    out[i] = a[i] + b[i];
+                }
+                return new long[words(n)];
+            case '-':
+                for(int i = 0; i < n; i++){
+                    out[i] = a[i] - b[i];
+                }
+                return new long[words(n)];
+            case '*':
+                for(int i = 0; i < n; i++){
+                    out[i] = a[i] * b[i];
+                }
+                return new long[words(n)];
+            default:{
+                long[] mask = zeroDivisors(b);
+                for(int i = 0; i < n; i++){
+                    out[i] = a[i] / b[i];
+                }
+                return markZeroDivisors(mask, out);
+            }
+        }
+    }
+
+    static long[] calculate(double[] a, double b, char operator, double[] out){
+        int n = checkLengths(a.length, a.length, out);
+        switch (checkOperator(operator)){
+            case '+':
+                for(int i = 0; i < n; i++){
+                    out[i] = a[i] + b;
+                }
+                return new long[words(n)];
+            case '-':
+                for(int i = 0; i < n; i++){
+                    out[i] = a[i] - b;
+                }
+                return new long[words(n)];
+            case '*':
+                for(int i = 0; i < n; i++){
+                    out[i] = a[i] * b;
+                }
+                return new long[words(n)];
+            default:
+                if(b == 0)
+                    return allZeroDivisors(out, n);
+                for(int i = 0; i < n; i++){
+                    out[i] = a[i] / b;
+                }
+                return new long[words(n)];
+        }
+    }
+
+    static long[] calculate(double a, double[] b, char operator, double[] out){
+        int n = checkLengths(b.length, b.length, out);
+        switch (checkOperator(operator)){
+            case '+':
+                for(int i = 0; i < n; i++){
+                    out[i] = a + b[i];
+                }
+                return new long[words(n)];
+            case '-':
+                for(int i = 0; i < n; i++){
+                    out[i] = a - b[i];
+                }
+                return new long[words(n)];
+            case '*':
+                for(int i = 0; i < n; i++){
+                    out[i] = a * b[i];
+                }
+                return new long[words(n)];
+            default:{
+                long[] mask = zeroDivisors(b);
+                for(int i = 0; i < n; i++){
+                    out[i] = a / b[i];
+                }
+                return markZeroDivisors(mask, out);
+            }
+        }
+    }
+
+    static int words(int lanes){
+        return (lanes + Long.SIZE - 1) >>> 6;
+    }
+
+    private static long[] zeroDivisors(double[] divisors){
+        int n = divisors.length;
+        long[] mask = new long[words(n)];
+        for(int word = 0; word < mask.length; word++){
+            int from = word << 6;
+            int to = Math.min(n, from + Long.SIZE);
+            long bits = 0;
+            for(int i = from; i < to; i++){
+                bits |= (divisors[i] == 0 ? 1L : 0L) << (i - from);
+            }
+            mask[word] = bits;
+        }
+        return mask;
+    }
+
+    private static long[] markZeroDivisors(long[] mask, double[] out){
+        for(int word = 0; word < mask.length; word++){
+            for(long bits = mask[word]; bits != 0; bits &= bits - 1){
+                out[(word << 6) + Long.numberOfTrailingZeros(bits)] = Double.NaN;
+            }
+        }
+        return mask;
+    }
+
+    private static long[] allZeroDivisors(double[] out, int n){
+        long[] mask = new long[words(n)];
+        Arrays.fill(mask, -1L);
+        if((n & 63) != 0)
+            mask[mask.length - 1] = (1L << (n & 63)) - 1;
+        Arrays.fill(out, Double.NaN);
+        return mask;
+    }
+
+    private static int checkLengths(int first, int second, double[] out){
+        if(first != second || first != out.length)
+            throw new IllegalArgumentException("Columns must have the same length!");
+        return first;
+    }
+
+    private static char checkOperator(char operator){
+        if(operator != '+' && operator != '-' && operator != '*' && operator != ':')
+            throw new IllegalArgumentException("Unsupported operation :"+operator);
+        return operator;
+    }
+}
@@ -0,0 +1,253 @@
+package com.kloudly.jacoco;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A formula over the operators of Calculator, such as "(a*b - c):d",
+ * compiled once and evaluated many times with different variable values.
+ * <p>
+ * Compiling parses the formula into a tree of closures, one per operator
+ * occurrence, each closure calling its operands directly: evaluation never
+ * parses nor switches on the operator again. Sub-expressions without
+ * variables are folded into constants with Calculator at compile time.
+ * <p>
+ * The grammar follows the usual precedence, ':' being the division:
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := factor (('*' | ':') factor)*
+ * factor     := number | variable | '(' expression ')' | '-' factor
+ * </pre>
+ * As with Calculator, dividing by zero throws an IllegalArgumentException.
+ */
+public final class Expression {
+    private final String formula;
+    private final List<String> variables;
+    private final Node root;
+
+    private Expression(String formula, List<String> variables, Node root){
+        this.formula = formula;
+        this.variables = Collections.unmodifiableList(variables);
+        this.root = root;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the formula is malformed, or
+     * divides a constant by zero
+     */
+    public static Expression compile(String formula){
+        Parser parser = new Parser(formula);
+        Node root = parser.parse();
+        return new Expression(formula, parser.variables, root);
+    }
+
+    /**
+     * @return the variables of the formula, in order of first appearance
+     */
+    public List<String> getVariables(){
+        return variables;
+    }
+
+    /**
+     * @return true when the formula has no variable, and has been folded
+     * into a single constant
+     */
+    public boolean isConstant(){
+        return root instanceof Constant;
+    }
+
+    /**
+     * @param values : the value of every variable, in the order of getVariables
+     */
+    public double evaluate(double... values){
+        if(values.length != variables.size())
+            throw new IllegalArgumentException("Expected " + variables.size() + " values, got " + values.length);
+        return root.evaluate(values);
+    }
+
+    public double evaluate(Map<String, Double> bindings){
+        double[] values = new double[variables.size()];
+        for(int i = 0; i < values.length; i++){
+            Double value = bindings.get(variables.get(i));
+            if(value == null)
+                throw new IllegalArgumentException("No value for variable " + variables.get(i));
+            values[i] = value;
+        }
+        return root.evaluate(values);
+    }
+
+    @Override
+    public String toString(){
+        return formula;
+    }
+
+    private interface Node {
+        double evaluate(double[] values);
+    }
+
+    private static final class Constant implements Node {
+        private final double value;
+
+        Constant(double value){
+            this.value = value;
+        }
+
+        @Override
+        public double evaluate(double[] values){
+            return value;
+        }
+    }
+
+    /**
+     * Recursive descent parser producing the closure tree.
+     */
+    private static final class Parser {
+        private static final Calculator CALCULATOR = new Calculator();
+
+        private final String formula;
+        private final List<String> variables = new ArrayList<>();
+        private int position;
+
+        Parser(String formula){
+            this.formula = formula;
+        }
+
+        Node parse(){
+            Node node = expression();
+            skipWhitespace();
+            if(position < formula.length())
+                throw unexpected();
+            return node;
+        }
+
+        private Node expression(){
+            Node node = term();
+            while(true){
+                char operator = peek();
+                if(operator != '+' && operator != '-')
+                    return node;
+                position++;
+                node = binary(node, operator, term());
+            }
+        }
+
+        private Node term(){
+            Node node = factor();
+            while(true){
+                char operator = peek();
+                if(operator != '*' && operator != ':')
+                    return node;
+                position++;
+                node = binary(node, operator, factor());
+            }
+        }
+
+        private Node factor(){
+            char c = peek();
+            if(c == '('){
+                position++;
+                Node node = expression();
+                if(peek() != ')')
+                    throw unexpected();
+                position++;
+                return node;
+            }
+            if(c == '-'){
+                position++;
+                Node operand = factor();
+                if(operand instanceof Constant)
+                    return new Constant(-((Constant) operand).value);
+                return values -> -operand.evaluate(values);
+            }
+            if(Character.isDigit(c) || c == '.')
+                return new Constant(number());
+            if(Character.isLetter(c) || c == '_')
+                return variable(identifier());
+            throw unexpected();
+        }
+
+        private Node binary(Node left, char operator, Node right){
+            if(left instanceof Constant && right instanceof Constant)
+                return new Constant(CALCULATOR.calculate(((Constant) left).value, ((Constant) right).value, operator));
+            switch (operator){
+                case '+':
+                    return values -> left.evaluate(values) + right.evaluate(values);
+                case '-':
+                    return values -> left.evaluate(values) - right.evaluate(values);
+                case '*':
+                    return values -> left.evaluate(values) * right.evaluate(values);
+                default:
+                    return values -> {
+                        double divisor = right.evaluate(values);
+                        if(divisor == 0)
+                            throw new IllegalArgumentException("Second argument must not be zero!");
+                        return left.evaluate(values) / divisor;
+                    };
+            }
+        }
+
+        private Node variable(String name){
+            int index = variables.indexOf(name);
+            if(index < 0){
+                index = variables.size();
+                variables.add(name);
+            }
+            int slot = index;
+            return values -> values[slot];
+        }
+
+        private double number(){
+            int start = position;
+            while(position < formula.length() && (Character.isDigit(formula.charAt(position)) || formula.charAt(position) == '.')){
+                position++;
+            }
+            if(position < formula.length() && (formula.charAt(position) == 'e' || formula.charAt(position) == 'E')){
+                int exponent = position + 1;
+                if(exponent < formula.length() && (formula.charAt(exponent) == '+' || formula.charAt(exponent) == '-'))
+                    exponent++;
+                if(exponent < formula.length() && Character.isDigit(formula.charAt(exponent))){
+                    position = exponent;
+                    while(position < formula.length() && Character.isDigit(formula.charAt(position))){
+                        position++;
+                    }
+                }
+            }
+            try{
+                return Double.parseDouble(formula.substring(start, position));
+            }catch(NumberFormatException e){
+                throw new IllegalArgumentException("Invalid number '" + formula.substring(start, position) + "' at " + start, e);
+            }
+        }
+
+        private String identifier(){
+            int start = position;
+            while(position < formula.length()
+                    && (Character.isLetterOrDigit(formula.charAt(position)) || formula.charAt(position) == '_')){
+                position++;
+            }
+            return formula.substring(start, position);
+        }
+
+        /**
+         * @return the next char that is not a whitespace, 0 at the end
+         */
+        private char peek(){
+            skipWhitespace();
+            return position < formula.length() ? formula.charAt(position) : 0;
+        }
+
+        private void skipWhitespace(){
+            while(position < formula.length() && Character.isWhitespace(formula.charAt(position))){
+                position++;
+            }
+        }
+
+        private IllegalArgumentException unexpected(){
+            if(position >= formula.length())
+                return new IllegalArgumentException("Unexpected end of formula : " + formula);
+            return new IllegalArgumentException("Unexpected '" + formula.charAt(position) + "' at " + position + " : " + formula);
+        }
+    }
+}
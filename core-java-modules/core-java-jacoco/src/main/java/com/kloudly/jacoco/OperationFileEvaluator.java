@@ -0,0 +1,385 @@
+package com.kloudly.jacoco;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Evaluates files of operations with the operators of Calculator, without
+ * throwing for bad rows: every row gets a result, and the rows that could
+ * not be evaluated are reported with an error code in the returned Report.
+ * <p>
+ * Two input formats are supported:
+ * <ul>
+ *     <li>CSV: one "operand,operand,operator" record per line, lines ending
+ *     with "\n" or "\r\n", operands in decimal notation such as -12.5e3.</li>
+ *     <li>Binary: records of {@value #BINARY_RECORD_BYTES} bytes, two
+ *     little-endian doubles followed by the operator as one ASCII byte.</li>
+ * </ul>
+ * The output file holds one little-endian double per row, in row order,
+ * NaN for the rows in error.
+ * <p>
+ * The input is memory-mapped in chunks of whole records evaluated in
+ * parallel. For CSV, a first pass counts the rows of every chunk so that
+ * every chunk knows where its results go in the output. Operands are parsed
+ * from the bytes, without building a String, except for the rare operands
+ * with more than 19 significant digits or a large exponent.
+ */
+public class OperationFileEvaluator {
+    public static final int BINARY_RECORD_BYTES = 2 * Double.BYTES + 1;
+    static final int DEFAULT_CHUNK_BYTES = 1 << 26;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    //18 digits always fit in a long, 19 digits may overflow it
+    private static final int MAX_SIGNIFICANT_DIGITS = 18;
+
+    public enum ErrorCode {
+        //the record has not exactly three fields
+        MALFORMED_RECORD,
+        //an operand is not a decimal number
+        MALFORMED_OPERAND,
+        //the operator is not one of + - * :
+        UNSUPPORTED_OPERATOR,
+        //the operator is : and the second operand is zero
+        DIVISION_BY_ZERO
+    }
+
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+
+    public OperationFileEvaluator(){
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool : the pool evaluating the chunks
+     */
+    public OperationFileEvaluator(ForkJoinPool pool){
+        this(pool, DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * @param chunkBytes : the number of input bytes mapped and evaluated by one task
+     */
+    OperationFileEvaluator(ForkJoinPool pool, int chunkBytes){
+        if(chunkBytes < BINARY_RECORD_BYTES)
+            throw new IllegalArgumentException("Chunk size must hold at least one record!");
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+    }
+
+    public Report evaluateCsv(Path input, Path output) throws IOException {
+        checkDistinct(input, output);
+        try(FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+            FileChannel out = openOutput(output)){
+            long[] limits = ParallelChunks.splitAfterNewLines(in, chunkBytes);
+            int chunks = limits.length - 1;
+
+            //1. rows of every chunk, then their first row
+            long[] firstRows = new long[chunks + 1];
+            ParallelChunks.forEach(pool, chunks, chunk -> {
+                ByteBuffer records = ParallelChunks.map(in, limits[chunk], limits[chunk + 1]);
+                long rows = 0;
+                for(int start = 0, limit = records.limit(); start < limit; rows++){
+                    start = endOfLine(records, start) + 1;
+                }
+                firstRows[chunk + 1] = rows;
+            });
+            for(int chunk = 0; chunk < chunks; chunk++){
+                firstRows[chunk + 1] += firstRows[chunk];
+            }
+
+            //2. evaluate every chunk into its part of the output
+            Errors[] errors = new Errors[chunks];
+            ParallelChunks.forEach(pool, chunks, chunk -> {
+                ByteBuffer records = ParallelChunks.map(in, limits[chunk], limits[chunk + 1]);
+                ByteBuffer results = mapOutput(out, firstRows[chunk], firstRows[chunk + 1]);
+                errors[chunk] = evaluateCsvChunk(records, results, firstRows[chunk]);
+            });
+            return new Report(firstRows[chunks], errors);
+        }
+    }
+
+    public Report evaluateBinary(Path input, Path output) throws IOException {
+        checkDistinct(input, output);
+        try(FileChannel in = FileChannel.open(input, StandardOpenOption.READ)){
+            long size = in.size();
+            if(size % BINARY_RECORD_BYTES != 0)
+                throw new IllegalArgumentException("Input size is not a multiple of " + BINARY_RECORD_BYTES + " : " + size);
+            try(FileChannel out = openOutput(output)){
+                long rows = size / BINARY_RECORD_BYTES;
+                long rowsPerChunk = chunkBytes / BINARY_RECORD_BYTES;
+                int chunks = (int) ((rows + rowsPerChunk - 1) / rowsPerChunk);
+                Errors[] errors = new Errors[chunks];
+                ParallelChunks.forEach(pool, chunks, chunk -> {
+                    long firstRow = chunk * rowsPerChunk;
+                    long lastRow = Math.min(rows, firstRow + rowsPerChunk);
+                    ByteBuffer records = ParallelChunks.map(in, firstRow * BINARY_RECORD_BYTES, lastRow * BINARY_RECORD_BYTES)
+                            .order(ByteOrder.LITTLE_ENDIAN);
+                    ByteBuffer results = mapOutput(out, firstRow, lastRow);
+                    Errors chunkErrors = new Errors();
+                    for(int row = 0; row < lastRow - firstRow; row++){
+                        int offset = row * BINARY_RECORD_BYTES;
+                        double first = records.getDouble(offset);
+                        double second = records.getDouble(offset + Double.BYTES);
+                        int operator = records.get(offset + 2 * Double.BYTES);
+                        results.putDouble(row * Double.BYTES, evaluate(first, second, operator, firstRow + row, chunkErrors));
+                    }
+                    errors[chunk] = chunkErrors;
+                });
+                return new Report(rows, errors);
+            }
+        }
+    }
+
+    private Errors evaluateCsvChunk(ByteBuffer records, ByteBuffer results, long firstRow){
+        Errors errors = new Errors();
+        OperandParser parser = new OperandParser(records);
+        int row = 0;
+        for(int start = 0, limit = records.limit(); start < limit; row++){
+            int end = endOfLine(records, start);
+            int next = end + 1;
+            if(end > start && records.get(end - 1) == '\r')
+                end--;
+            int firstComma = indexOf(records, ',', start, end);
+            int secondComma = firstComma < 0 ? -1 : indexOf(records, ',', firstComma + 1, end);
+            double result = Double.NaN;
+            long rowIndex = firstRow + row;
+            if(secondComma < 0 || indexOf(records, ',', secondComma + 1, end) >= 0){
+                errors.add(rowIndex, ErrorCode.MALFORMED_RECORD);
+            }else if(!parser.parse(start, firstComma)){
+                errors.add(rowIndex, ErrorCode.MALFORMED_OPERAND);
+            }else{
+                double first = parser.value;
+                if(!parser.parse(firstComma + 1, secondComma)){
+                    errors.add(rowIndex, ErrorCode.MALFORMED_OPERAND);
+                }else if(end - secondComma != 2){
+                    errors.add(rowIndex, ErrorCode.UNSUPPORTED_OPERATOR);
+                }else{
+                    result = evaluate(first, parser.value, records.get(secondComma + 1), rowIndex, errors);
+                }
+            }
+            results.putDouble(row * Double.BYTES, result);
+            start = next;
+        }
+        return errors;
+    }
+
+    /**
+     * The exception-free counterpart of Calculator.calculate.
+     */
+    private static double evaluate(double first, double second, int operator, long row, Errors errors){
+        switch (operator){
+            case '+':
+                return first + second;
+            case '-':
+                return first - second;
+            case '*':
+                return first * second;
+            case ':':
+                if(second == 0){
+                    errors.add(row, ErrorCode.DIVISION_BY_ZERO);
+                    return Double.NaN;
+                }
+                return first / second;
+            default:
+                errors.add(row, ErrorCode.UNSUPPORTED_OPERATOR);
+                return Double.NaN;
+        }
+    }
+
+    /**
+     * The output is truncated when opened, it must not be the input.
+     */
+    private static void checkDistinct(Path input, Path output) throws IOException {
+        if(Files.exists(output) && Files.isSameFile(input, output))
+            throw new IllegalArgumentException("Output is the input file : " + output);
+    }
+
+    private static FileChannel openOutput(Path output) throws IOException {
+        return FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static ByteBuffer mapOutput(FileChannel channel, long firstRow, long lastRow) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, firstRow * Double.BYTES, (lastRow - firstRow) * Double.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int endOfLine(ByteBuffer bytes, int start){
+        int end = indexOf(bytes, '\n', start, bytes.limit());
+        return end < 0 ? bytes.limit() : end;
+    }
+
+    private static int indexOf(ByteBuffer bytes, char b, int from, int to){
+        for(int i = from; i < to; i++){
+            if(bytes.get(i) == b)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * The rows evaluated and the rows in error, as parallel arrays sorted by row.
+     */
+    public static final class Report {
+        private static final ErrorCode[] CODES = ErrorCode.values();
+
+        private final long rows;
+        private final long[] errorRows;
+        private final byte[] errorCodes;
+
+        Report(long rows, Errors[] chunkErrors){
+            int count = 0;
+            for(Errors errors : chunkErrors){
+                count += errors.size;
+            }
+            this.rows = rows;
+            this.errorRows = new long[count];
+            this.errorCodes = new byte[count];
+            int offset = 0;
+            for(Errors errors : chunkErrors){
+                System.arraycopy(errors.rows, 0, errorRows, offset, errors.size);
+                System.arraycopy(errors.codes, 0, errorCodes, offset, errors.size);
+                offset += errors.size;
+            }
+        }
+
+        public long getRowCount(){
+            return rows;
+        }
+
+        public int getErrorCount(){
+            return errorRows.length;
+        }
+
+        /**
+         * @return the index of the k-th row in error, from 0
+         */
+        public long getErrorRow(int k){
+            return errorRows[k];
+        }
+
+        public ErrorCode getErrorCode(int k){
+            return CODES[errorCodes[k]];
+        }
+    }
+
+    /**
+     * The errors of one chunk, in row order.
+     */
+    private static final class Errors {
+        private long[] rows = new long[16];
+        private byte[] codes = new byte[16];
+        private int size;
+
+        void add(long row, ErrorCode code){
+            if(size == rows.length){
+                rows = Arrays.copyOf(rows, size * 2);
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            rows[size] = row;
+            codes[size] = (byte) code.ordinal();
+            size++;
+        }
+    }
+
+    /**
+     * Parses decimal operands from the bytes of a chunk. When the digits fit
+     * in a long below 2^53 and the power of ten is at most 22, the value is
+     * one exact multiplication or division, correctly rounded; other
+     * operands fall back to Double.parseDouble.
+     */
+    private static final class OperandParser {
+        private final ByteBuffer bytes;
+        private double value;
+
+        OperandParser(ByteBuffer bytes){
+            this.bytes = bytes;
+        }
+
+        /**
+         * @return false if [from, to) is not a decimal number, value otherwise
+         */
+        boolean parse(int from, int to){
+            int i = from;
+            boolean negative = false;
+            if(i < to && (bytes.get(i) == '-' || bytes.get(i) == '+')){
+                negative = bytes.get(i) == '-';
+                i++;
+            }
+            long significand = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean anyDigit = false;
+            boolean truncated = false;
+            for(; i < to && isDigit(bytes.get(i)); i++){
+                anyDigit = true;
+                if(digits < MAX_SIGNIFICANT_DIGITS){
+                    significand = significand * 10 + (bytes.get(i) - '0');
+                    if(significand != 0)
+                        digits++;
+                }else{
+                    exponent++;
+                    truncated = true;
+                }
+            }
+            if(i < to && bytes.get(i) == '.'){
+                for(i++; i < to && isDigit(bytes.get(i)); i++){
+                    anyDigit = true;
+                    if(digits < MAX_SIGNIFICANT_DIGITS){
+                        significand = significand * 10 + (bytes.get(i) - '0');
+                        if(significand != 0)
+                            digits++;
+                        exponent--;
+                    }else{
+                        truncated = true;
+                    }
+                }
+            }
+            if(!anyDigit)
+                return false;
+            if(i < to && (bytes.get(i) == 'e' || bytes.get(i) == 'E')){
+                i++;
+                boolean negativeExponent = false;
+                if(i < to && (bytes.get(i) == '-' || bytes.get(i) == '+')){
+                    negativeExponent = bytes.get(i) == '-';
+                    i++;
+                }
+                if(i == to)
+                    return false;
+                int explicit = 0;
+                for(; i < to && isDigit(bytes.get(i)); i++){
+                    explicit = Math.min(100_000, explicit * 10 + (bytes.get(i) - '0'));
+                }
+                exponent += negativeExponent ? -explicit : explicit;
+            }
+            if(i != to)
+                return false;
+            if(!truncated && significand < (1L << 53) && Math.abs(exponent) < POWERS_OF_TEN.length){
+                double magnitude = exponent < 0 ? significand / POWERS_OF_TEN[-exponent] : significand * POWERS_OF_TEN[exponent];
+                value = negative ? -magnitude : magnitude;
+            }else{
+                byte[] text = new byte[to - from];
+                for(int k = 0; k < text.length; k++){
+                    text[k] = bytes.get(from + k);
+                }
+                value = Double.parseDouble(new String(text, StandardCharsets.US_ASCII));
+            }
+            return true;
+        }
+
+        private static boolean isDigit(byte b){
+            return b >= '0' && b <= '9';
+        }
+    }
+}
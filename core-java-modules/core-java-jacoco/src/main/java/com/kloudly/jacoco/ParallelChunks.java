@@ -0,0 +1,117 @@
+package com.kloudly.jacoco;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Helpers shared by the parallel file evaluations: running one task per
+ * chunk on a fork-join pool, and cutting a file into chunks of whole lines.
+ */
+final class ParallelChunks {
+    private static final int SCAN_BYTES = 8192;
+
+    private ParallelChunks(){
+    }
+
+    interface ChunkBody {
+        void accept(int chunk) throws IOException;
+    }
+
+    /**
+     * Runs body for every chunk number in [0, chunks) and waits for all of
+     * them. The first IOException thrown by a chunk is rethrown.
+     */
+    static void forEach(ForkJoinPool pool, int chunks, ChunkBody body) throws IOException {
+        try{
+            pool.invoke(new ChunkRangeAction(0, chunks, body));
+        }catch(UncheckedIOException e){
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Cuts a file into chunks of about chunkBytes bytes, every chunk but the
+     * first one starting right after a new line.
+     *
+     * @return the chunk limits: chunk k is [limits[k], limits[k + 1]). An
+     * empty file has no chunk
+     */
+    static long[] splitAfterNewLines(FileChannel channel, int chunkBytes) throws IOException {
+        long size = channel.size();
+        long[] limits = new long[(int) ((size + chunkBytes - 1) / chunkBytes) + 1];
+        int count = 1;
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BYTES);
+        for(long nominal = chunkBytes; nominal < size; nominal += chunkBytes){
+            long position = Math.max(nominal, limits[count - 1]) - 1;
+            long start = size;
+            while(position < size && start == size){
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if(read <= 0)
+                    break;
+                for(int i = 0; i < read; i++){
+                    if(buffer.get(i) == '\n'){
+                        start = position + i + 1;
+                        break;
+                    }
+                }
+                position += read;
+            }
+            if(start >= size)
+                break;
+            if(start > limits[count - 1])
+                limits[count++] = start;
+        }
+        if(size > 0)
+            limits[count++] = size;
+        return Arrays.copyOf(limits, count);
+    }
+
+    /**
+     * Maps the chunk [from, to) of a file read-only.
+     */
+    static MappedByteBuffer map(FileChannel channel, long from, long to) throws IOException {
+        if(to - from > Integer.MAX_VALUE)
+            throw new IOException("A single record run exceeds 2 GB at offset " + from);
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+    }
+
+    /**
+     * Splits a range of chunk numbers in halves until a single chunk is left.
+     */
+    private static final class ChunkRangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final transient ChunkBody body;
+
+        ChunkRangeAction(int from, int to, ChunkBody body){
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute(){
+            if(to - from <= 1){
+                if(from < to){
+                    try{
+                        body.accept(from);
+                    }catch(IOException e){
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkRangeAction(from, middle, body), new ChunkRangeAction(middle, to, body));
+        }
+    }
+}
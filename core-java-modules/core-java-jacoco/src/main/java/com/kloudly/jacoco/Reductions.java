@@ -0,0 +1,268 @@
+package com.kloudly.jacoco;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The folds behind Calculator.reduce, computed on a fork-join pool by
+ * splitting the array in halves down to runs of threshold values.
+ * <p>
+ * Sums are compensated with Neumaier's variant of Kahan summation: every
+ * run keeps the rounding errors of its additions in a second double, and
+ * two runs are merged by adding both their sums and their compensations.
+ * With u = 2^-53, the result is within 2u|s| + 2n²u² Σ|x_i| of the exact
+ * sum s of the n values, however the array is split: the sequential and
+ * the parallel sums differ by at most twice that bound, usually by nothing.
+ * The bound only holds for finite sums: once a partial sum overflows or
+ * meets an infinite value, it is returned as is, ±Infinity or NaN, without
+ * compensation. Partial sums overflowing to opposite infinities then give
+ * NaN where the left fold may give an infinity.
+ * <p>
+ * Products are not compensated: each of the n - 1 multiplications rounds
+ * once, so sequential and parallel products are both within a relative
+ * error of (n - 1)u of the exact product, barring overflow and underflow.
+ * <p>
+ * Divisions divide the first value by the product of the others. That
+ * product is kept as a mantissa and a separate binary exponent, so that it
+ * neither overflows nor underflows where the left fold would not.
+ */
+final class Reductions {
+    static final int DEFAULT_THRESHOLD = 1 << 13;
+    private static final int NOT_SCALABLE = Integer.MIN_VALUE;
+
+    private Reductions(){
+    }
+
+    /**
+     * @param threshold : the length under which a range is folded sequentially,
+     *                  at least values.length for a sequential fold
+     */
+    static double reduce(double[] values, char operator, ForkJoinPool pool, int threshold){
+        int n = values.length;
+        switch (operator){
+            case '+':
+                return n == 0 ? 0 : pool.invoke(new SumTask(values, 0, n, threshold)).value();
+            case '*':
+                return n == 0 ? 1 : pool.invoke(new ProductTask(values, 0, n, threshold));
+            case '-':
+                checkNotEmpty(n, operator);
+                if(n == 1)
+                    return values[0];
+                //a0 - a1 - ... - an-1 is a0 minus the sum of the others
+                CompensatedSum difference = new CompensatedSum();
+                difference.add(values[0]);
+                difference.subtract(pool.invoke(new SumTask(values, 1, n, threshold)));
+                return difference.value();
+            case ':':
+                checkNotEmpty(n, operator);
+                for(int i = 1; i < n; i++){
+                    if(values[i] == 0)
+                        throw new IllegalArgumentException("Second argument must not be zero!");
+                }
+                return n == 1 ? values[0] : pool.invoke(new DivisorTask(values, 1, n, threshold)).divide(values[0]);
+            default:
+                throw new IllegalArgumentException("Unsupported operation :"+operator);
+        }
+    }
+
+    private static void checkNotEmpty(int n, char operator){
+        if(n == 0)
+            throw new IllegalArgumentException("Cannot reduce no value with " + operator);
+    }
+
+    /**
+     * A sum and the rounding errors of the additions that produced it.
+     */
+    static final class CompensatedSum {
+        //-0.0 is the identity of addition, 0.0 + -0.0 being 0.0
+        private double sum = -0.0;
+        private double compensation;
+
+        void add(double x){
+            double t = sum + x;
+            //an infinite or NaN sum has no rounding error to keep
+            if(!Double.isFinite(t)){
+                sum = t;
+                return;
+            }
+            if(Math.abs(sum) >= Math.abs(x))
+                compensation += (sum - t) + x;
+            else
+                compensation += (x - t) + sum;
+            sum = t;
+        }
+
+        void add(CompensatedSum other){
+            add(other.sum);
+            compensation += other.compensation;
+        }
+
+        void subtract(CompensatedSum other){
+            add(-other.sum);
+            compensation -= other.compensation;
+        }
+
+        /**
+         * @return the compensated sum, with the sign of the naive sum when it
+         * is zero, and the naive sum itself when it is not finite
+         */
+        double value(){
+            return compensation == 0 || !Double.isFinite(sum) ? sum : sum + compensation;
+        }
+    }
+
+    /**
+     * A product as mantissa * 2^exponent, the mantissa being kept in [1, 2)
+     * while it is finite and not zero.
+     */
+    static final class ScaledProduct {
+        private double mantissa = 1;
+        private long exponent;
+
+        void multiply(double x){
+            int e = exponentOf(x);
+            mantissa *= e == NOT_SCALABLE ? x : Math.scalb(x, -e);
+            exponent += e == NOT_SCALABLE ? 0 : e;
+            normalize();
+        }
+
+        void multiply(ScaledProduct other){
+            mantissa *= other.mantissa;
+            exponent += other.exponent;
+            normalize();
+        }
+
+        /**
+         * @return dividend divided by this product, scaled back only once
+         * the mantissas are divided
+         */
+        double divide(double dividend){
+            int e = exponentOf(dividend);
+            if(e == NOT_SCALABLE || exponentOf(mantissa) == NOT_SCALABLE)
+                return dividend / mantissa;
+            long scale = e - exponent;
+            //beyond these, the quotient of two mantissas is 0 or infinite anyway
+            int clamped = (int) Math.max(-4 * Double.MAX_EXPONENT, Math.min(4 * Double.MAX_EXPONENT, scale));
+            return Math.scalb(Math.scalb(dividend, -e) / mantissa, clamped);
+        }
+
+        private void normalize(){
+            int e = exponentOf(mantissa);
+            if(e != NOT_SCALABLE){
+                mantissa = Math.scalb(mantissa, -e);
+                exponent += e;
+            }
+        }
+    }
+
+    /**
+     * @return the binary exponent of x, subnormals included, NOT_SCALABLE
+     * for zeros, infinities and NaN
+     */
+    private static int exponentOf(double x){
+        if(x == 0 || Double.isNaN(x) || Double.isInfinite(x))
+            return NOT_SCALABLE;
+        int e = Math.getExponent(x);
+        if(e < Double.MIN_EXPONENT)
+            return Math.getExponent(x * 0x1p54) - 54;
+        return e;
+    }
+
+    private static final class DivisorTask extends RecursiveTask<ScaledProduct> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] values;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        DivisorTask(double[] values, int from, int to, int threshold){
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected ScaledProduct compute(){
+            if(to - from <= threshold){
+                ScaledProduct product = new ScaledProduct();
+                for(int i = from; i < to; i++){
+                    product.multiply(values[i]);
+                }
+                return product;
+            }
+            int middle = (from + to) >>> 1;
+            DivisorTask right = new DivisorTask(values, middle, to, threshold);
+            right.fork();
+            ScaledProduct product = new DivisorTask(values, from, middle, threshold).compute();
+            product.multiply(right.join());
+            return product;
+        }
+    }
+
+    private static final class SumTask extends RecursiveTask<CompensatedSum> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] values;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        SumTask(double[] values, int from, int to, int threshold){
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected CompensatedSum compute(){
+            if(to - from <= threshold){
+                CompensatedSum sum = new CompensatedSum();
+                for(int i = from; i < to; i++){
+                    sum.add(values[i]);
+                }
+                return sum;
+            }
+            int middle = (from + to) >>> 1;
+            SumTask right = new SumTask(values, middle, to, threshold);
+            right.fork();
+            CompensatedSum sum = new SumTask(values, from, middle, threshold).compute();
+            sum.add(right.join());
+            return sum;
+        }
+    }
+
+    private static final class ProductTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] values;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        ProductTask(double[] values, int from, int to, int threshold){
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Double compute(){
+            if(to - from <= threshold){
+                double product = 1;
+                for(int i = from; i < to; i++){
+                    product *= values[i];
+                }
+                return product;
+            }
+            int middle = (from + to) >>> 1;
+            ProductTask right = new ProductTask(values, middle, to, threshold);
+            right.fork();
+            double product = new ProductTask(values, from, middle, threshold).compute();
+            return product * right.join();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.kloudly.jacoco;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class CalculatorColumnTest {
+    private static Calculator calculator;
+    @BeforeAll
+    static void setUp(){
+        calculator = new Calculator();
+    }
+    @Test
+    void sameAsScalar(){
+        Random random = new Random(22);
+        double[] a = random.doubles(1000, -100, 100).toArray();
+        double[] b = random.doubles(1000, 1, 100).toArray();
+        double[] out = new double[1000];
+        for(char operator : new char[]{'+', '-', '*', ':'}){
+            long[] mask = calculator.calculate(a, b, operator, out);
+            Assertions.assertArrayEquals(new long[16], mask);
+            for(int i = 0; i < out.length; i++){
+                Assertions.assertEquals(calculator.calculate(a[i], b[i], operator), out[i]);
+            }
+            calculator.calculate(a, 3.5, operator, out);
+            for(int i = 0; i < out.length; i++){
+                Assertions.assertEquals(calculator.calculate(a[i], 3.5, operator), out[i]);
+            }
+            calculator.calculate(3.5, b, operator, out);
+            for(int i = 0; i < out.length; i++){
+                Assertions.assertEquals(calculator.calculate(3.5, b[i], operator), out[i]);
+            }
+        }
+    }
+    @Test
+    void divideByZeroMask(){
+        double[] a = new double[130];
+        double[] b = new double[130];
+        Arrays.fill(a, 6);
+        Arrays.fill(b, 2);
+        b[0] = 0;
+        b[64] = 0;
+        b[129] = -0.0;
+        double[] out = new double[130];
+        long[] mask = calculator.calculate(a, b, ':', out);
+        Assertions.assertArrayEquals(new long[]{1L, 1L, 1L << 1}, mask);
+        Assertions.assertTrue(Double.isNaN(out[0]));
+        Assertions.assertTrue(Double.isNaN(out[64]));
+        Assertions.assertTrue(Double.isNaN(out[129]));
+        Assertions.assertEquals(3, out[1]);
+        Assertions.assertEquals(3, out[128]);
+    }
+    @Test
+    void divideByZeroInPlace(){
+        double[] b = {2, 0, 4};
+        long[] mask = calculator.calculate(new double[]{6, 6, 6}, b, ':', b);
+        Assertions.assertArrayEquals(new long[]{1L << 1}, mask);
+        Assertions.assertEquals(3, b[0]);
+        Assertions.assertTrue(Double.isNaN(b[1]));
+        Assertions.assertEquals(1.5, b[2]);
+        double[] divisors = {0, 3};
+        mask = calculator.calculate(6, divisors, ':', divisors);
+        Assertions.assertArrayEquals(new long[]{1L}, mask);
+        Assertions.assertEquals(2, divisors[1]);
+        double[] a = {6, 0};
+        mask = calculator.calculate(a, new double[]{0, 2}, ':', a);
+        Assertions.assertArrayEquals(new long[]{1L}, mask);
+        Assertions.assertEquals(0, a[1]);
+    }
+    @Test
+    void divideByZeroScalar(){
+        double[] a = new double[70];
+        double[] out = new double[70];
+        long[] mask = calculator.calculate(a, 0, ':', out);
+        Assertions.assertArrayEquals(new long[]{-1L, (1L << 6) - 1}, mask);
+        Assertions.assertTrue(Double.isNaN(out[69]));
+    }
+    @Test
+    void illegalArgument(){
+        Assertions.assertThrows(IllegalArgumentException.class,() -> calculator.calculate(new double[2], new double[2], '/', new double[2]));
+        Assertions.assertThrows(IllegalArgumentException.class,() -> calculator.calculate(new double[2], new double[3], '+', new double[2]));
+        Assertions.assertThrows(IllegalArgumentException.class,() -> calculator.calculate(1, new double[2], '+', new double[1]));
+    }
+}
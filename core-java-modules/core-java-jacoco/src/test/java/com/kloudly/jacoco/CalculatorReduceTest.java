@@ -0,0 +1,130 @@
+package com.kloudly.jacoco;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class CalculatorReduceTest {
+    private static final double U = Math.ulp(1.0) / 2;
+    private static Calculator calculator;
+    private static ForkJoinPool pool;
+    @BeforeAll
+    static void setUp(){
+        calculator = new Calculator();
+        pool = new ForkJoinPool(4);
+    }
+    @AfterAll
+    static void tearDown(){
+        pool.shutdown();
+    }
+    @Test
+    void smallArrays(){
+        double[] values = {8, 2, 2};
+        Assertions.assertEquals(12, calculator.reduce(values, '+'));
+        Assertions.assertEquals(4, calculator.reduce(values, '-'));
+        Assertions.assertEquals(32, calculator.reduce(values, '*'));
+        Assertions.assertEquals(2, calculator.reduce(values, ':'));
+        Assertions.assertEquals(0, calculator.reduce(new double[0], '+'));
+        Assertions.assertEquals(1, calculator.reduce(new double[0], '*'));
+        Assertions.assertEquals(5, calculator.reduce(new double[]{5}, ':'));
+        Assertions.assertEquals(5, calculator.reduce(new double[]{5}, '-'));
+    }
+    @Test
+    void divisionWithoutIntermediateOverflow(){
+        Assertions.assertEquals(1e-100, calculator.reduce(new double[]{1e300, 1e200, 1e200}, ':', pool), 1e-100 * 4 * U);
+        Assertions.assertEquals(1e100, calculator.reduce(new double[]{1e-300, 1e-200, 1e-200}, ':', pool), 1e100 * 4 * U);
+        Assertions.assertEquals(1e300 / 1e200 / 1e200, calculator.reduce(new double[]{1e300, 1e200, 1e200}, ':', pool), 1e-100 * 4 * U);
+        double[] subnormals = {Double.MIN_VALUE * 6, Double.MIN_VALUE, 3};
+        Assertions.assertEquals(2, Reductions.reduce(subnormals, ':', pool, 1));
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, calculator.reduce(new double[]{Double.MAX_VALUE, 0.5, 0.5}, ':', pool));
+        Assertions.assertEquals(-0.0, calculator.reduce(new double[]{-0.0, 2, 3}, ':', pool));
+        Assertions.assertTrue(Double.isNaN(calculator.reduce(new double[]{1, Double.NaN, 3}, ':', pool)));
+    }
+    @Test
+    void signedZeros(){
+        Assertions.assertEquals(0.0, calculator.reduce(new double[]{0.0}, '-', pool));
+        Assertions.assertEquals(0.0 - 0.0, calculator.reduce(new double[]{0.0, 0.0}, '-', pool));
+        Assertions.assertEquals(-0.0 - 0.0, calculator.reduce(new double[]{-0.0, 0.0}, '-', pool));
+        Assertions.assertEquals(0.0 - -0.0, calculator.reduce(new double[]{0.0, -0.0}, '-', pool));
+        Assertions.assertEquals(-0.0 + -0.0, calculator.reduce(new double[]{-0.0, -0.0}, '+', pool));
+        Assertions.assertEquals(-0.0 + 0.0, calculator.reduce(new double[]{-0.0, 0.0}, '+', pool));
+    }
+    @Test
+    void infiniteAndOverflowingSums(){
+        double inf = Double.POSITIVE_INFINITY;
+        Assertions.assertEquals(inf, calculator.reduce(new double[]{inf, 1}, '+', pool));
+        Assertions.assertEquals(inf, calculator.reduce(new double[]{1, inf}, '+', pool));
+        Assertions.assertEquals(inf, calculator.reduce(new double[]{1e308, 1e308}, '+', pool));
+        Assertions.assertEquals(-inf, calculator.reduce(new double[]{-1e308, -1e308, 1}, '+', pool));
+        Assertions.assertEquals(-inf, calculator.reduce(new double[]{5, inf}, '-', pool));
+        Assertions.assertEquals(inf, calculator.reduce(new double[]{inf, 5}, '-', pool));
+        Assertions.assertEquals(-inf, calculator.reduce(new double[]{-1e308, 1e308}, '-', pool));
+        Assertions.assertTrue(Double.isNaN(calculator.reduce(new double[]{inf, -inf}, '+', pool)));
+        Assertions.assertTrue(Double.isNaN(calculator.reduce(new double[]{1, Double.NaN}, '+', pool)));
+        //the same in runs of one value, merged as partial sums
+        double[] values = {1e308, 1e308, 1, -1};
+        Assertions.assertEquals(inf, Reductions.reduce(values, '+', pool, 1));
+        Assertions.assertEquals(-inf, Reductions.reduce(new double[]{-1e308, 1e308, 1e308}, '-', pool, 1));
+    }
+    @Test
+    void invalidReductions(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.reduce(new double[]{1, 2}, '%'));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.reduce(new double[]{0, 2, 0}, ':'));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.reduce(new double[0], '-'));
+    }
+    @Test
+    void compensatedSum(){
+        //1 then many values lost below its ulp by a naive loop
+        double[] values = new double[100_001];
+        values[0] = 1;
+        Arrays.fill(values, 1, values.length, 1e-17);
+        double naive = 0;
+        for(double value : values){
+            naive = calculator.calculate(naive, value, '+');
+        }
+        Assertions.assertEquals(1, naive);
+        Assertions.assertEquals(1 + 1e-12, calculator.reduce(values, '+', pool), Math.ulp(1.0));
+    }
+    @Test
+    void parallelSameAsSequentialWithinBound(){
+        Random random = new Random(24);
+        int n = 200_000;
+        double[] values = new double[n];
+        BigDecimal exact = BigDecimal.ZERO;
+        double absoluteSum = 0;
+        for(int i = 0; i < n; i++){
+            //ill-conditioned: large values cancelling each other around small ones
+            values[i] = i % 2 == 0 ? random.nextGaussian() * Math.scalb(1.0, random.nextInt(60)) : random.nextDouble();
+            exact = exact.add(new BigDecimal(values[i]));
+            absoluteSum += Math.abs(values[i]);
+        }
+        double s = exact.doubleValue();
+        double bound = 2 * U * Math.abs(s) + 2.0 * n * n * U * U * absoluteSum;
+        double sequential = Reductions.reduce(values, '+', pool, n);
+        for(int threshold : new int[]{1, 7, 1000, Reductions.DEFAULT_THRESHOLD}){
+            double parallel = Reductions.reduce(values, '+', pool, threshold);
+            Assertions.assertEquals(s, parallel, bound);
+            Assertions.assertEquals(sequential, parallel, 2 * bound);
+        }
+        Assertions.assertEquals(s, sequential, bound);
+        Assertions.assertEquals(calculator.reduce(values, '+', pool) - 2 * values[0],
+                -calculator.reduce(values, '-', pool), 2 * bound);
+    }
+    @Test
+    void parallelProductWithinBound(){
+        Random random = new Random(24);
+        int n = 100_000;
+        double[] values = random.doubles(n, 0.999, 1.001).toArray();
+        double sequential = Reductions.reduce(values, '*', pool, n);
+        double parallel = Reductions.reduce(values, '*', pool, 100);
+        Assertions.assertEquals(sequential, parallel, 2 * (n - 1) * U * Math.abs(sequential));
+        double quotient = Reductions.reduce(values, ':', pool, 100);
+        Assertions.assertEquals(values[0] * values[0] / sequential, quotient, 2 * n * U * Math.abs(quotient));
+    }
+}
@@ -0,0 +1,66 @@
+package com.kloudly.jacoco;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ExpressionTest {
+    private static Calculator calculator;
+    @BeforeAll
+    static void setUp(){
+        calculator = new Calculator();
+    }
+    @Test
+    void pricingRule(){
+        Expression expression = calculator.compile("(a*b - c):d");
+        Assertions.assertEquals(Arrays.asList("a", "b", "c", "d"), expression.getVariables());
+        Assertions.assertEquals((3 * 4 - 2) / 5.0, expression.evaluate(3, 4, 2, 5));
+        Assertions.assertEquals((1.5 * 2 - 1) / 4.0, expression.evaluate(1.5, 2, 1, 4));
+    }
+    @Test
+    void precedence(){
+        Assertions.assertEquals(7, calculator.compile("1 + 2 * 3").evaluate());
+        Assertions.assertEquals(9, calculator.compile("(1 + 2) * 3").evaluate());
+        Assertions.assertEquals(2, calculator.compile("8 : 2 : 2").evaluate());
+        Assertions.assertEquals(-4, calculator.compile("2 - 3 - 3").evaluate());
+        Assertions.assertEquals(-6, calculator.compile("-2 * 3").evaluate());
+        Assertions.assertEquals(250, calculator.compile("2.5e2").evaluate());
+    }
+    @Test
+    void constantFolding(){
+        Assertions.assertTrue(calculator.compile("(1 + 2) * (10 : 4)").isConstant());
+        Expression expression = calculator.compile("x * (1 + 2) - -x");
+        Assertions.assertFalse(expression.isConstant());
+        Assertions.assertEquals(8, expression.evaluate(2));
+    }
+    @Test
+    void bindings(){
+        Expression expression = calculator.compile("price * quantity - discount");
+        Map<String, Double> bindings = new HashMap<>();
+        bindings.put("price", 10.0);
+        bindings.put("quantity", 3.0);
+        bindings.put("discount", 5.0);
+        Assertions.assertEquals(25, expression.evaluate(bindings));
+        bindings.remove("discount");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> expression.evaluate(bindings));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> expression.evaluate(1, 2));
+    }
+    @Test
+    void divideByZero(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.compile("1 : 0"));
+        Expression expression = calculator.compile("a : b");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> expression.evaluate(1, 0));
+    }
+    @Test
+    void malformed(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.compile("1 +"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.compile("(a * b"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.compile("a / b"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.compile("1.2.3"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.compile(""));
+    }
+}
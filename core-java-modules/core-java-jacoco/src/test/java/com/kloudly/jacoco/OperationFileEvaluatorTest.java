@@ -0,0 +1,152 @@
+package com.kloudly.jacoco;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class OperationFileEvaluatorTest {
+    private static Calculator calculator;
+    private static ForkJoinPool pool;
+    @TempDir
+    Path directory;
+    @BeforeAll
+    static void setUp(){
+        calculator = new Calculator();
+        pool = new ForkJoinPool(4);
+    }
+    @AfterAll
+    static void tearDown(){
+        pool.shutdown();
+    }
+    @Test
+    void csvWithErrors() throws IOException {
+        String csv = "1,2,+\n"
+                + "-3.5,2e1,*\r\n"
+                + "7,0,:\n"
+                + "1,2,%\n"
+                + "1,x,+\n"
+                + "1,2\n"
+                + "\n"
+                + "10,4,:";
+        Path input = Files.write(directory.resolve("operations.csv"), csv.getBytes(StandardCharsets.US_ASCII));
+        Path output = directory.resolve("results.bin");
+        OperationFileEvaluator.Report report = new OperationFileEvaluator(pool, 32).evaluateCsv(input, output);
+        Assertions.assertEquals(8, report.getRowCount());
+        double[] results = readResults(output);
+        Assertions.assertEquals(8, results.length);
+        Assertions.assertEquals(3, results[0]);
+        Assertions.assertEquals(-70, results[1]);
+        Assertions.assertEquals(2.5, results[7]);
+        for(int row = 2; row < 7; row++){
+            Assertions.assertTrue(Double.isNaN(results[row]));
+        }
+        Assertions.assertEquals(5, report.getErrorCount());
+        long[] rows = {2, 3, 4, 5, 6};
+        OperationFileEvaluator.ErrorCode[] codes = {
+                OperationFileEvaluator.ErrorCode.DIVISION_BY_ZERO,
+                OperationFileEvaluator.ErrorCode.UNSUPPORTED_OPERATOR,
+                OperationFileEvaluator.ErrorCode.MALFORMED_OPERAND,
+                OperationFileEvaluator.ErrorCode.MALFORMED_RECORD,
+                OperationFileEvaluator.ErrorCode.MALFORMED_RECORD};
+        for(int k = 0; k < rows.length; k++){
+            Assertions.assertEquals(rows[k], report.getErrorRow(k));
+            Assertions.assertEquals(codes[k], report.getErrorCode(k));
+        }
+    }
+    @Test
+    void csvSameAsCalculator() throws IOException {
+        Random random = new Random(23);
+        char[] operators = {'+', '-', '*', ':'};
+        int rows = 5000;
+        double[] a = new double[rows];
+        double[] b = new double[rows];
+        StringBuilder csv = new StringBuilder();
+        for(int row = 0; row < rows; row++){
+            a[row] = row % 3 == 0 ? random.nextInt(1000) : random.nextDouble() * 1e6 - 5e5;
+            b[row] = row % 7 == 0 ? random.nextGaussian() * 1e-30 : random.nextDouble() + 1;
+            csv.append(a[row]).append(',').append(b[row]).append(',').append(operators[row % 4]).append('\n');
+        }
+        //an operand with more significant digits than a long holds
+        csv.append("1234567890.12345678901234567890,1,+\n");
+        //19 digit operands above Long.MAX_VALUE
+        csv.append("9999999999999999999,1,*\n");
+        csv.append("9300000000000000000,-1,*\n");
+        Path input = Files.write(directory.resolve("random.csv"), csv.toString().getBytes(StandardCharsets.US_ASCII));
+        Path output = directory.resolve("random.bin");
+        OperationFileEvaluator.Report report = new OperationFileEvaluator(pool, 4096).evaluateCsv(input, output);
+        Assertions.assertEquals(rows + 3, report.getRowCount());
+        Assertions.assertEquals(0, report.getErrorCount());
+        double[] results = readResults(output);
+        for(int row = 0; row < rows; row++){
+            Assertions.assertEquals(calculator.calculate(a[row], b[row], operators[row % 4]), results[row]);
+        }
+        Assertions.assertEquals(1234567890.12345678901234567890 + 1, results[rows]);
+        Assertions.assertEquals(9999999999999999999.0, results[rows + 1]);
+        Assertions.assertEquals(-9300000000000000000.0, results[rows + 2]);
+    }
+    @Test
+    void binary() throws IOException {
+        int rows = 1000;
+        ByteBuffer records = ByteBuffer.allocate(rows * OperationFileEvaluator.BINARY_RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for(int row = 0; row < rows; row++){
+            records.putDouble(row).putDouble(row % 10).put((byte) (row % 100 == 1 ? '?' : ':'));
+        }
+        Path input = Files.write(directory.resolve("operations.bin"), records.array());
+        Path output = directory.resolve("binary-results.bin");
+        OperationFileEvaluator.Report report = new OperationFileEvaluator(pool, 170).evaluateBinary(input, output);
+        Assertions.assertEquals(rows, report.getRowCount());
+        Assertions.assertEquals(110, report.getErrorCount());
+        double[] results = readResults(output);
+        for(int row = 0, k = 0; row < rows; row++){
+            if(row % 10 == 0 || row % 100 == 1){
+                Assertions.assertTrue(Double.isNaN(results[row]));
+                Assertions.assertEquals(row, report.getErrorRow(k));
+                Assertions.assertEquals(row % 10 == 0 ? OperationFileEvaluator.ErrorCode.DIVISION_BY_ZERO
+                        : OperationFileEvaluator.ErrorCode.UNSUPPORTED_OPERATOR, report.getErrorCode(k));
+                k++;
+            }else{
+                Assertions.assertEquals(calculator.calculate(row, row % 10, ':'), results[row]);
+            }
+        }
+    }
+    @Test
+    void emptyAndTruncatedInputs() throws IOException {
+        Path empty = Files.write(directory.resolve("empty.csv"), new byte[0]);
+        Path output = directory.resolve("empty.bin");
+        Assertions.assertEquals(0, new OperationFileEvaluator(pool).evaluateCsv(empty, output).getRowCount());
+        Assertions.assertEquals(0, Files.size(output));
+        Path truncated = Files.write(directory.resolve("truncated.bin"), new byte[OperationFileEvaluator.BINARY_RECORD_BYTES + 1]);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new OperationFileEvaluator(pool).evaluateBinary(truncated, output));
+    }
+    @Test
+    void outputIsInput() throws IOException {
+        byte[] csv = "1,2,+\n".getBytes(StandardCharsets.US_ASCII);
+        Path input = Files.write(directory.resolve("same.csv"), csv);
+        Path alias = directory.resolve(".").resolve("same.csv");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new OperationFileEvaluator(pool).evaluateCsv(input, alias));
+        Assertions.assertArrayEquals(csv, Files.readAllBytes(input));
+        Path binary = Files.write(directory.resolve("same.bin"), new byte[OperationFileEvaluator.BINARY_RECORD_BYTES]);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new OperationFileEvaluator(pool).evaluateBinary(binary, binary));
+        Assertions.assertEquals(OperationFileEvaluator.BINARY_RECORD_BYTES, Files.size(binary));
+    }
+    private static double[] readResults(Path output) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(output)).order(ByteOrder.LITTLE_ENDIAN);
+        double[] results = new double[bytes.remaining() / Double.BYTES];
+        bytes.asDoubleBuffer().get(results);
+        return results;
+    }
+}
@@ -0,0 +1,91 @@
+package com.kloudly.collections;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntSupplier;
+
+/**
+ * Generates the input arrays of the dedup benchmarks.
+ */
+public final class DedupInputs {
+
+    public enum Distribution {
+        //every distinct value is drawn with the same probability
+        UNIFORM,
+        //the k-th distinct value is drawn with a probability proportional to 1/k
+        ZIPFIAN,
+        //uniform values, sorted in ascending order
+        SORTED
+    }
+
+    private DedupInputs(){
+    }
+
+    /**
+     * Every distinct value appears at least once, so the input holds exactly
+     * round(size * (1 - duplicateRatio)) distinct values whatever the
+     * distribution; the distribution decides which values the duplicates repeat.
+     *
+     * @param size : the length of the generated array
+     * @param duplicateRatio : the share of elements repeating an earlier one, between 0 and 1
+     * @param distribution : how the duplicates are drawn from the distinct values
+     * @param seed : the seed making the array reproducible
+     */
+    public static int[] generate(int size, double duplicateRatio, Distribution distribution, long seed){
+        Random random = new Random(seed);
+        int distinct = Math.max(1, (int) Math.round(size * (1 - duplicateRatio)));
+        int[] pool = distinctValues(distinct, random);
+        int[] data = new int[size];
+        switch (distribution){
+            case ZIPFIAN:{
+                double[] cumulative = new double[distinct];
+                double sum = 0;
+                for(int k = 0; k < distinct; k++){
+                    sum += 1.0 / (k + 1);
+                    cumulative[k] = sum;
+                }
+                double total = sum;
+                fill(data, pool, random, () -> {
+                    int k = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                    return pool[Math.min(distinct - 1, k < 0 ? -k - 1 : k)];
+                });
+                break;
+            }
+            case SORTED:{
+                fill(data, pool, random, () -> pool[random.nextInt(pool.length)]);
+                Arrays.sort(data);
+                break;
+            }
+            default:
+                fill(data, pool, random, () -> pool[random.nextInt(pool.length)]);
+        }
+        return data;
+    }
+
+    private static int[] distinctValues(int count, Random random){
+        Set<Integer> values = new HashSet<>(count * 2);
+        int[] pool = new int[count];
+        int i = 0;
+        while(i < count){
+            int value = random.nextInt();
+            if(values.add(value))
+                pool[i++] = value;
+        }
+        return pool;
+    }
+
+    private static void fill(int[] data, int[] pool, Random random, IntSupplier duplicate){
+        //every value of the pool appears once, the rest are duplicates
+        for(int i = 0; i < data.length; i++){
+            data[i] = i < pool.length ? pool[i] : duplicate.getAsInt();
+        }
+        for(int i = data.length - 1; i > 0; i--){
+            int j = random.nextInt(i + 1);
+            int tmp = data[i];
+            data[i] = data[j];
+            data[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.kloudly.collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the strategies of ArraysDuplicatesHelper that run in linear time,
+ * from 1e2 up to 1e7 elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HashingDedupBenchmark {
+    @Param({"100", "10000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"0.0", "0.5", "0.9"})
+    private double duplicateRatio;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SORTED"})
+    private DedupInputs.Distribution distribution;
+
+    private ArraysDuplicatesHelper bean;
+    private int[] data;
+
+    @Setup
+    public void setUp(){
+        bean = new ArraysDuplicatesHelper();
+        data = DedupInputs.generate(size, duplicateRatio, distribution, 42);
+    }
+
+    @Benchmark
+    public int[] withSet(){
+        return bean.removeDuplicatesWithSet(data);
+    }
+
+    @Benchmark
+    public int[] withMap(){
+        return bean.removeDuplicatesWithMap(data);
+    }
+
+    @Benchmark
+    public int[] withStreams(){
+        return bean.removeDuplicatesWithStreams(data);
+    }
+
+    @Benchmark
+    public int[] withPrimitiveHashTable(){
+        return bean.removeDuplicatesWithPrimitiveHashTable(data);
+    }
+
+    @Benchmark
+    public int[] withCompressedBitmap(){
+        return bean.removeDuplicatesWithCompressedBitmap(data);
+    }
+
+    @Benchmark
+    public int[] parallel(){
+        return bean.removeDuplicatesParallel(data);
+    }
+}
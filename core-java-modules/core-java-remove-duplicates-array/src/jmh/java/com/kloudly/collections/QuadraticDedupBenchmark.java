@@ -0,0 +1,68 @@
+package com.kloudly.collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the O(n²) strategies of ArraysDuplicatesHelper. They are kept
+ * apart from HashingDedupBenchmark because sizes above 1e5 would not complete
+ * in a reasonable time. Set and primitive hash table run on the same inputs
+ * as a reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuadraticDedupBenchmark {
+    @Param({"100", "1000", "10000", "100000"})
+    private int size;
+
+    @Param({"0.0", "0.5", "0.9"})
+    private double duplicateRatio;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SORTED"})
+    private DedupInputs.Distribution distribution;
+
+    private ArraysDuplicatesHelper bean;
+    private int[] data;
+
+    @Setup
+    public void setUp(){
+        bean = new ArraysDuplicatesHelper();
+        data = DedupInputs.generate(size, duplicateRatio, distribution, 42);
+    }
+
+    @Benchmark
+    public int[] withList(){
+        return bean.removeDuplicatesWithList(data);
+    }
+
+    //removeDuplicatesInPlace overwrites its input, so it works on a copy
+    @Benchmark
+    public int[] inPlace(){
+        return bean.removeDuplicatesInPlace(data.clone());
+    }
+
+    @Benchmark
+    public int[] withSet(){
+        return bean.removeDuplicatesWithSet(data);
+    }
+
+    @Benchmark
+    public int[] withPrimitiveHashTable(){
+        return bean.removeDuplicatesWithPrimitiveHashTable(data);
+    }
+}
@@ -1,5 +1,7 @@
 package com.kloudly.collections;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -7,8 +9,36 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 public class ArraysDuplicatesHelper {
+    //Below this size the fork-join overhead costs more than it saves
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    //Up to this size, or this many distinct values, scanning the output beats hashing
+    static final int SMALL_ARRAY_THRESHOLD = 32;
+    //The bitmap is used when it takes at most this many bits per input element
+    static final int BITMAP_BITS_PER_ELEMENT = 8;
+    //Number of elements fed to the HyperLogLog sketch
+    static final int SAMPLE_SIZE = 1024;
+    private static final int SKETCH_PRECISION = 10;
+
+    private final Consumer<DedupDecision> diagnostics;
+
+    public ArraysDuplicatesHelper(){
+        this(decision -> {});
+    }
+
+    /**
+     * @param diagnostics : receives the decision taken by every call to
+     * removeDuplicates, to check the chosen strategies against real data
+     */
+    public ArraysDuplicatesHelper(Consumer<DedupDecision> diagnostics){
+        this.diagnostics = diagnostics;
+    }
 
     /**
      *
@@ -51,6 +81,47 @@ public class ArraysDuplicatesHelper {
         return result;
     }
 
+    /**
+     *
+     * @param data : The input array. The array doesn't need to be sorted
+     * @param expectedDistinct : the number of distinct values the filter is
+     * sized for, which fixes its memory whatever the length of data
+     * @param falsePositiveRate : the share of distinct values that may be
+     * wrongly dropped, once expectedDistinct values went through the filter
+     * @return an array where duplicate values have been removed. The insertion
+     * order in the final array must be the same as in the input array.
+     * Some distinct values may be missing, see removeDuplicatesApproximate(int[], BlockedBloomFilter)
+     */
+    public int[] removeDuplicatesApproximate(int[] data, long expectedDistinct, double falsePositiveRate){
+        return removeDuplicatesApproximate(data, BlockedBloomFilter.forExpected(expectedDistinct, falsePositiveRate));
+    }
+
+    /**
+     *
+     * @param data : The input array. The array doesn't need to be sorted
+     * @param filter : remembers the values seen so far. Its memory is fixed
+     * whatever the size of the input, and it can be shared across calls to
+     * deduplicate a stream of arrays. Its fillRatio() tells how close it is
+     * to its target false positive rate
+     * @return an array where duplicate values have been removed. The insertion
+     * order in the final array must be the same as in the input array.
+     * A value the filter wrongly reports as already seen is dropped, so the
+     * result may miss a small fraction of distinct values but never holds a duplicate
+     */
+    public int[] removeDuplicatesApproximate(int[] data, BlockedBloomFilter filter){
+        int[] result = new int[Math.min(data.length, 16)];
+        int i = 0;
+        for(int value : data){
+            if(filter.add(value)){
+                if(i == result.length){
+                    result = Arrays.copyOf(result, Math.min(data.length, i << 1));
+                }
+                result[i++] = value;
+            }
+        }
+        return i == result.length ? result : Arrays.copyOf(result, i);
+    }
+
     /**
      *
      * @param data : The input array. The array doesn't need to be sorted
@@ -105,4 +176,587 @@ public class ArraysDuplicatesHelper {
 
         return Arrays.copyOf(data, index);
     }
+
+    /**
+     *
+     * @param data : The input array. The array doesn't need to be sorted
+     * @return an array where duplicate values have been removed. The insertion
+     * order in the final array must be the same as in the input array.
+     * Values are tracked in a primitive open-addressing hash table, so no
+     * element is boxed. The first pass counts the distinct values so that the
+     * result can be allocated with its exact size, the second pass fills it.
+     */
+    public int[] removeDuplicatesWithPrimitiveHashTable(int[] data){
+        return removeDuplicatesWithPrimitiveHashTable(data, data.length);
+    }
+
+    private int[] removeDuplicatesWithPrimitiveHashTable(int[] data, int expectedDistinct){
+        IntOpenHashSet uniqueElements = new IntOpenHashSet(expectedDistinct);
+        for(int value : data){
+            uniqueElements.add(value);
+        }
+        int[] result = new int[uniqueElements.size()];
+        uniqueElements.clear();
+        int i = 0;
+        for(int value : data){
+            if(uniqueElements.add(value)){
+                result[i++] = value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @param data : The input array. The array doesn't need to be sorted
+     * @return an array where duplicate values have been removed. The insertion
+     * order in the final array must be the same as in the input array.
+     * Values are tracked in a Roaring-style compressed bitmap, which costs a
+     * few bits per value for IDs that are dense within 65536-wide groups,
+     * instead of a hash table entry.
+     */
+    public int[] removeDuplicatesWithCompressedBitmap(int[] data){
+        RoaringIntSet uniqueElements = new RoaringIntSet();
+        for(int value : data){
+            uniqueElements.add(value);
+        }
+        int[] result = new int[uniqueElements.size()];
+        uniqueElements.clear();
+        int i = 0;
+        for(int value : data){
+            if(uniqueElements.add(value)){
+                result[i++] = value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @param data : The input array. The array doesn't need to be sorted
+     * @return an array where duplicate values have been removed. The insertion
+     * order in the final array must be the same as in the input array.
+     * Large arrays are split across the common fork-join pool: the minimum
+     * index of every value is recorded and the result is compacted in a final
+     * pass. Arrays smaller than PARALLEL_THRESHOLD use the sequential
+     * primitive hash table strategy.
+     */
+    public int[] removeDuplicatesParallel(int[] data){
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        if(data.length < PARALLEL_THRESHOLD || pool.getParallelism() < 2){
+            return removeDuplicatesWithPrimitiveHashTable(data);
+        }
+        int chunkSize = Math.max(PARALLEL_THRESHOLD / 4, data.length / (pool.getParallelism() * 4));
+        return new ParallelDeduplicator(pool, chunkSize).removeDuplicates(data);
+    }
+
+    /**
+     *
+     * @param input : a binary file of little-endian int32 values. The values
+     * don't need to be sorted
+     * @param output : the file receiving the distinct values in the same format,
+     * created or overwritten, but not the input file. The insertion order in the output file must be
+     * the same as in the input file
+     * @return the number of distinct values written to output.
+     * Both files are read and written through memory-mapped windows, so the
+     * values are never copied into a heap array
+     */
+    public long removeDuplicates(Path input, Path output) throws IOException {
+        return new MappedIntFileDeduplicator(MappedIntFileDeduplicator.DEFAULT_WINDOW_BYTES)
+                .removeDuplicates(input, output);
+    }
+
+    /**
+     *
+     * @param data : The input array. The array doesn't need to be sorted
+     * @return an array where duplicate values have been removed. The insertion
+     * order in the final array must be the same as in the input array.
+     * One cheap pass finds min, max and whether the input is sorted, and a
+     * HyperLogLog sketch over a strided sample estimates the distinct count.
+     * The fastest path for that profile is then used, see DedupStrategy.
+     * The decision is reported to the diagnostics hook given at construction.
+     */
+    public int[] removeDuplicates(int[] data){
+        DedupDecision decision = decide(data);
+        diagnostics.accept(decision);
+        switch (decision.getStrategy()){
+            case SMALL_ARRAY:
+                return removeDuplicatesWithLinearScan(data);
+            case SORTED:
+                return removeDuplicatesSorted(data);
+            case BITMAP:
+                return removeDuplicatesWithBitmap(data, decision.getMin(), decision.getMax());
+            default:
+                return removeDuplicatesWithPrimitiveHashTable(data,
+                        (int) Math.min(data.length, decision.getEstimatedDistinct() + (decision.getEstimatedDistinct() >>> 3)));
+        }
+    }
+
+    DedupDecision decide(int[] data){
+        int n = data.length;
+        if(n <= SMALL_ARRAY_THRESHOLD){
+            return new DedupDecision(DedupStrategy.SMALL_ARRAY, n, 0, n, false,
+                    n == 0 ? 0 : min(data), n == 0 ? 0 : max(data));
+        }
+        int min = data[0];
+        int max = data[0];
+        boolean ascending = true;
+        boolean descending = true;
+        for(int i = 1; i < n; i++){
+            int value = data[i];
+            int previous = data[i - 1];
+            ascending &= previous <= value;
+            descending &= previous >= value;
+            if(value < min)
+                min = value;
+            if(value > max)
+                max = value;
+        }
+        boolean sorted = ascending || descending;
+        if(sorted){
+            return new DedupDecision(DedupStrategy.SORTED, n, 0, n, true, min, max);
+        }
+        if((long) max - min + 1 <= (long) n * BITMAP_BITS_PER_ELEMENT){
+            return new DedupDecision(DedupStrategy.BITMAP, n, 0, n, false, min, max);
+        }
+
+        HyperLogLog sketch = new HyperLogLog(SKETCH_PRECISION);
+        int sampleSize = Math.min(n, SAMPLE_SIZE);
+        int stride = n / sampleSize;
+        for(int k = 0; k < sampleSize; k++){
+            sketch.add(data[k * stride]);
+        }
+        long sampleDistinct = Math.min(sampleSize, sketch.estimate());
+        //few values in the sample means few values overall, otherwise scale the ratio
+        long estimatedDistinct = sampleDistinct <= SMALL_ARRAY_THRESHOLD
+                ? sampleDistinct
+                : Math.min(n, Math.round((double) sampleDistinct * n / sampleSize));
+        DedupStrategy strategy = estimatedDistinct <= SMALL_ARRAY_THRESHOLD / 2
+                ? DedupStrategy.SMALL_ARRAY
+                : DedupStrategy.HASH_TABLE;
+        return new DedupDecision(strategy, n, sampleSize, estimatedDistinct, false, min, max);
+    }
+
+    //O(n * d): every value is compared to the d distinct values found so far.
+    //If the sample underestimated d, the remaining elements go through a hash table
+    private int[] removeDuplicatesWithLinearScan(int[] data){
+        int[] uniqueElements = new int[Math.min(data.length, SMALL_ARRAY_THRESHOLD)];
+        int count = 0;
+        for(int i = 0; i < data.length; i++){
+            int value = data[i];
+            boolean isDuplicate = false;
+            for(int j = 0; j < count; j++){
+                if(uniqueElements[j] == value){
+                    isDuplicate = true;
+                    break;
+                }
+            }
+            if(!isDuplicate){
+                if(count == uniqueElements.length){
+                    return continueWithHashTable(data, i, uniqueElements, count);
+                }
+                uniqueElements[count++] = value;
+            }
+        }
+        return count == uniqueElements.length ? uniqueElements : Arrays.copyOf(uniqueElements, count);
+    }
+
+    private int[] continueWithHashTable(int[] data, int from, int[] uniqueElements, int count){
+        IntOpenHashSet seen = new IntOpenHashSet(count << 1);
+        for(int j = 0; j < count; j++){
+            seen.add(uniqueElements[j]);
+        }
+        int[] result = Arrays.copyOf(uniqueElements, Math.max(count << 1, 16));
+        for(int i = from; i < data.length; i++){
+            int value = data[i];
+            if(seen.add(value)){
+                if(count == result.length){
+                    result = Arrays.copyOf(result, count << 1);
+                }
+                result[count++] = value;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    //Equal values are adjacent in a sorted array, so a value is kept when it differs from its predecessor
+    private int[] removeDuplicatesSorted(int[] data){
+        if(data.length == 0)
+            return new int[0];
+        int count = 1;
+        for(int i = 1; i < data.length; i++){
+            if(data[i] != data[i - 1])
+                count++;
+        }
+        int[] result = new int[count];
+        result[0] = data[0];
+        int index = 1;
+        for(int i = 1; i < data.length; i++){
+            if(data[i] != data[i - 1])
+                result[index++] = data[i];
+        }
+        return result;
+    }
+
+    //One bit per possible value between min and max
+    private int[] removeDuplicatesWithBitmap(int[] data, int min, int max){
+        long range = (long) max - min + 1;
+        long[] bits = new long[(int) ((range + 63) >>> 6)];
+        int count = 0;
+        for(int value : data){
+            int offset = value - min;
+            long mask = 1L << offset;
+            int word = offset >>> 6;
+            if((bits[word] & mask) == 0){
+                bits[word] |= mask;
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        Arrays.fill(bits, 0L);
+        int index = 0;
+        for(int value : data){
+            int offset = value - min;
+            long mask = 1L << offset;
+            int word = offset >>> 6;
+            if((bits[word] & mask) == 0){
+                bits[word] |= mask;
+                result[index++] = value;
+            }
+        }
+        return result;
+    }
+
+    private static int min(int[] data){
+        int min = data[0];
+        for(int value : data){
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static int max(int[] data){
+        int max = data[0];
+        for(int value : data){
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    /**
+     *
+     * @param data : The input array. The array doesn't need to be sorted
+     * @return an array where duplicate values have been removed. The insertion
+     * order in the final array must be the same as in the input array.
+     * Values are tracked in a primitive long hash table, so no element is boxed
+     */
+    public long[] removeDuplicates(long[] data){
+        LongOpenHashSet uniqueElements = new LongOpenHashSet(data.length);
+        for(long value : data){
+            uniqueElements.add(value);
+        }
+        long[] result = new long[uniqueElements.size()];
+        uniqueElements.clear();
+        int i = 0;
+        for(long value : data){
+            if(uniqueElements.add(value)){
+                result[i++] = value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @param items : The input list. It doesn't need to be sorted
+     * @param keyExtractor : gives the key two items are compared by
+     * @return the items whose key was not seen before, in the same order as
+     * in the input list. Keys are compared with their hashCode and equals
+     */
+    public <T, K> List<T> dedupBy(List<T> items, Function<? super T, ? extends K> keyExtractor){
+        return dedupBy(items, keyExtractor, HashingStrategy.natural());
+    }
+
+    /**
+     *
+     * @param items : The input list. It doesn't need to be sorted
+     * @param keyExtractor : gives the key two items are compared by. It is
+     * called once per item
+     * @param strategy : hashes and compares the keys. Each key is hashed once
+     * @return the items whose key was not seen before, in the same order as
+     * in the input list
+     */
+    public <T, K> List<T> dedupBy(List<T> items, Function<? super T, ? extends K> keyExtractor,
+                                  HashingStrategy<? super K> strategy){
+        ObjectOpenHashSet<K> keys = new ObjectOpenHashSet<>(items.size(), strategy);
+        List<T> result = new ArrayList<>();
+        for(T item : items){
+            if(keys.add(keyExtractor.apply(item))){
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Array version of {@link #dedupBy(List, Function)}.
+     */
+    public <T, K> T[] dedupBy(T[] items, Function<? super T, ? extends K> keyExtractor){
+        return dedupBy(items, keyExtractor, HashingStrategy.natural());
+    }
+
+    /**
+     * Array version of {@link #dedupBy(List, Function, HashingStrategy)}.
+     * The result has the same component type as items.
+     */
+    public <T, K> T[] dedupBy(T[] items, Function<? super T, ? extends K> keyExtractor,
+                              HashingStrategy<? super K> strategy){
+        return dedupBy(Arrays.asList(items), keyExtractor, strategy).toArray(Arrays.copyOf(items, 0));
+    }
+
+    /**
+     *
+     * @param items : The input list. It doesn't need to be sorted
+     * @param keyExtractor : gives the int key two items are compared by
+     * @return the items whose key was not seen before, in the same order as
+     * in the input list. Keys are tracked in a primitive hash table, so they
+     * are never boxed
+     */
+    public <T> List<T> dedupByIntKey(List<T> items, ToIntFunction<? super T> keyExtractor){
+        IntOpenHashSet keys = new IntOpenHashSet(items.size());
+        List<T> result = new ArrayList<>();
+        for(T item : items){
+            if(keys.add(keyExtractor.applyAsInt(item))){
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Array version of {@link #dedupByIntKey(List, ToIntFunction)}.
+     */
+    public <T> T[] dedupByIntKey(T[] items, ToIntFunction<? super T> keyExtractor){
+        return dedupByIntKey(Arrays.asList(items), keyExtractor).toArray(Arrays.copyOf(items, 0));
+    }
+
+    /**
+     *
+     * @param items : The input list. It doesn't need to be sorted
+     * @param keyExtractor : gives the long key two items are compared by
+     * @return the items whose key was not seen before, in the same order as
+     * in the input list. Keys are tracked in a primitive hash table, so they
+     * are never boxed
+     */
+    public <T> List<T> dedupByLongKey(List<T> items, ToLongFunction<? super T> keyExtractor){
+        LongOpenHashSet keys = new LongOpenHashSet(items.size());
+        List<T> result = new ArrayList<>();
+        for(T item : items){
+            if(keys.add(keyExtractor.applyAsLong(item))){
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Array version of {@link #dedupByLongKey(List, ToLongFunction)}.
+     */
+    public <T> T[] dedupByLongKey(T[] items, ToLongFunction<? super T> keyExtractor){
+        return dedupByLongKey(Arrays.asList(items), keyExtractor).toArray(Arrays.copyOf(items, 0));
+    }
+
+    /**
+     *
+     * @param data : The input array. The array doesn't need to be sorted
+     * @return the exact number of occurrences of every distinct value, the
+     * values being in the same order as their first occurrence in the input.
+     * For inputs too large to count exactly, see HeavyHitters
+     */
+    public IntCountMap countOccurrences(int[] data){
+        IntCountMap occurrences = new IntCountMap(Math.min(data.length, 1 << 16));
+        for(int value : data){
+            occurrences.increment(value);
+        }
+        return occurrences;
+    }
+
+    /**
+     *
+     * @param first : The first array. It doesn't need to be sorted
+     * @param second : The second array. It doesn't need to be sorted
+     * @return the distinct values of first followed by the distinct values of
+     * second that are not in first, each in the order of its first occurrence
+     */
+    public int[] union(int[] first, int[] second){
+        IntOpenHashSet seen = new IntOpenHashSet(first.length + second.length);
+        for(int value : first){
+            seen.add(value);
+        }
+        for(int value : second){
+            seen.add(value);
+        }
+        int[] result = new int[seen.size()];
+        seen.clear();
+        int i = 0;
+        for(int value : first){
+            if(seen.add(value))
+                result[i++] = value;
+        }
+        for(int value : second){
+            if(seen.add(value))
+                result[i++] = value;
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @param first : The first array. It doesn't need to be sorted
+     * @param second : The second array. It doesn't need to be sorted
+     * @return the distinct values of first that are also in second, in the
+     * order of their first occurrence in first
+     */
+    public int[] intersect(int[] first, int[] second){
+        return filter(first, second, true);
+    }
+
+    /**
+     *
+     * @param first : The first array. It doesn't need to be sorted
+     * @param second : The second array. It doesn't need to be sorted
+     * @return the distinct values of first that are not in second, in the
+     * order of their first occurrence in first
+     */
+    public int[] difference(int[] first, int[] second){
+        return filter(first, second, false);
+    }
+
+    /**
+     *
+     * @param first : The first array, sorted in ascending order. It may hold duplicates
+     * @param second : The second array, sorted in ascending order. It may hold duplicates
+     * @return the distinct values of both arrays, sorted in ascending order.
+     * The output is at least as long as the larger input, so a plain merge is
+     * already optimal and no galloping is needed
+     */
+    public int[] unionSorted(int[] first, int[] second){
+        int[] result = new int[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while(i < first.length || j < second.length){
+            int value;
+            if(j == second.length || (i < first.length && first[i] <= second[j])){
+                value = first[i++];
+            }else{
+                value = second[j++];
+            }
+            if(count == 0 || result[count - 1] != value){
+                result[count++] = value;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     *
+     * @param first : The first array, sorted in ascending order. It may hold duplicates
+     * @param second : The second array, sorted in ascending order. It may hold duplicates
+     * @return the distinct values present in both arrays, sorted in ascending order.
+     * Every value of the smaller array is looked up in the larger one with a
+     * galloping search starting at the previous match, which costs
+     * O(m log(n / m)) instead of O(n + m) when the sizes are skewed
+     */
+    public int[] intersectSorted(int[] first, int[] second){
+        int[] small = first.length <= second.length ? first : second;
+        int[] large = small == first ? second : first;
+        int[] result = new int[small.length];
+        int count = 0;
+        int j = 0;
+        for(int i = 0; i < small.length && j < large.length; i++){
+            int value = small[i];
+            if(i > 0 && small[i - 1] == value)
+                continue;
+            j = gallop(large, j, value);
+            if(j < large.length && large[j] == value){
+                result[count++] = value;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     *
+     * @param first : The first array, sorted in ascending order. It may hold duplicates
+     * @param second : The second array, sorted in ascending order. It may hold duplicates
+     * @return the distinct values of first that are not in second, sorted in
+     * ascending order. Values of first are looked up in second with a galloping
+     * search starting at the previous position
+     */
+    public int[] differenceSorted(int[] first, int[] second){
+        int[] result = new int[first.length];
+        int count = 0;
+        int j = 0;
+        for(int i = 0; i < first.length; i++){
+            int value = first[i];
+            if(i > 0 && first[i - 1] == value)
+                continue;
+            j = gallop(second, j, value);
+            if(j == second.length || second[j] != value){
+                result[count++] = value;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    //Keeps the distinct values of first whose presence in second equals keepPresent
+    private int[] filter(int[] first, int[] second, boolean keepPresent){
+        IntOpenHashSet others = new IntOpenHashSet(second.length);
+        for(int value : second){
+            others.add(value);
+        }
+        IntOpenHashSet seen = new IntOpenHashSet(first.length);
+        int count = 0;
+        for(int value : first){
+            if(others.contains(value) == keepPresent && seen.add(value))
+                count++;
+        }
+        int[] result = new int[count];
+        seen.clear();
+        int i = 0;
+        for(int value : first){
+            if(others.contains(value) == keepPresent && seen.add(value))
+                result[i++] = value;
+        }
+        return result;
+    }
+
+    /**
+     * @return the index of the first element of sorted, from index from on,
+     * that is greater than or equal to key, or sorted.length if there is none.
+     * The step doubles until key is passed, then a binary search narrows it down
+     */
+    static int gallop(int[] sorted, int from, int key){
+        if(from >= sorted.length || sorted[from] >= key)
+            return from;
+        int low = from;
+        int step = 1;
+        int high = from + 1;
+        while(high < sorted.length && sorted[high] < key){
+            low = high;
+            //clamped before doubling, so that step never overflows
+            high = step >= (sorted.length - from) >>> 1 ? sorted.length : from + (step <<= 1);
+        }
+        //sorted[low] < key and (high == sorted.length or sorted[high] >= key)
+        while(low + 1 < high){
+            int middle = (low + high) >>> 1;
+            if(sorted[middle] < key){
+                low = middle;
+            }else{
+                high = middle;
+            }
+        }
+        return high;
+    }
 }
@@ -0,0 +1,116 @@
+package com.kloudly.collections;
+
+/**
+ * A Bloom filter of int values whose bits are grouped in blocks of 512 bits,
+ * the size of a cache line. All the bits of one value fall in the same block,
+ * so a lookup touches one cache line instead of k random ones, at the cost of
+ * a slightly higher false positive rate than a classic Bloom filter.
+ * Java gives no control over the address of an array, so a block is 64
+ * contiguous bytes that may straddle two cache lines.
+ */
+public final class BlockedBloomFilter {
+    private static final int BLOCK_BITS = 512;
+    private static final int WORDS_PER_BLOCK = BLOCK_BITS / Long.SIZE;
+    private static final int MAX_BLOCKS = Integer.MAX_VALUE / WORDS_PER_BLOCK;
+    private static final int MAX_HASHES = 16;
+
+    private final long[] words;
+    private final int blocks;
+    private final int hashes;
+    private long bitsSet;
+
+    /**
+     * @param blocks : the number of 512-bit blocks
+     * @param hashes : the number of bits set for every value
+     */
+    public BlockedBloomFilter(int blocks, int hashes){
+        if(blocks <= 0 || blocks > MAX_BLOCKS)
+            throw new IllegalArgumentException("Number of blocks must be between 1 and " + MAX_BLOCKS + "!");
+        if(hashes <= 0 || hashes > MAX_HASHES)
+            throw new IllegalArgumentException("Number of hashes must be between 1 and " + MAX_HASHES + "!");
+        this.blocks = blocks;
+        this.hashes = hashes;
+        this.words = new long[blocks * WORDS_PER_BLOCK];
+    }
+
+    /**
+     * @param expectedDistinct : the number of distinct values the filter is sized for
+     * @param falsePositiveRate : the target probability that an unseen value
+     * is reported as seen once expectedDistinct values were added
+     */
+    public static BlockedBloomFilter forExpected(long expectedDistinct, double falsePositiveRate){
+        if(expectedDistinct <= 0)
+            throw new IllegalArgumentException("Expected count must be positive!");
+        if(!(falsePositiveRate > 0 && falsePositiveRate < 1))
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1!");
+        double ln2 = Math.log(2);
+        double bits = -expectedDistinct * Math.log(falsePositiveRate) / (ln2 * ln2);
+        int hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round(bits / expectedDistinct * ln2)));
+        long blocks = Math.max(1, (long) Math.ceil(bits / BLOCK_BITS));
+        return new BlockedBloomFilter((int) Math.min(MAX_BLOCKS, blocks), hashes);
+    }
+
+    /**
+     * @return true if the value was not reported as seen before, i.e. at least
+     * one of its bits was not set yet
+     */
+    public boolean add(int value){
+        long hash = IntOpenHashSet.mix64(value);
+        int base = blockOf(hash) * WORDS_PER_BLOCK;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 17) | 1;
+        boolean added = false;
+        for(int i = 0; i < hashes; i++){
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            int word = base + (bit >>> 6);
+            long mask = 1L << bit;
+            if((words[word] & mask) == 0){
+                words[word] |= mask;
+                bitsSet++;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    public boolean mightContain(int value){
+        long hash = IntOpenHashSet.mix64(value);
+        int base = blockOf(hash) * WORDS_PER_BLOCK;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 17) | 1;
+        for(int i = 0; i < hashes; i++){
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            if((words[base + (bit >>> 6)] & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the observed share of bits set, between 0 and 1. Around 0.5 the
+     * filter reaches the false positive rate it was sized for
+     */
+    public double fillRatio(){
+        return (double) bitsSet / ((long) blocks * BLOCK_BITS);
+    }
+
+    /**
+     * @return the false positive rate implied by the observed fill ratio
+     */
+    public double currentFalsePositiveRate(){
+        return Math.pow(fillRatio(), hashes);
+    }
+
+    public long bitSize(){
+        return (long) blocks * BLOCK_BITS;
+    }
+
+    public int hashCount(){
+        return hashes;
+    }
+
+    private int blockOf(long hash){
+        //maps the 32 high bits onto [0, blocks) without a modulo
+        return (int) (((hash >>> 32) * blocks) >>> 32);
+    }
+}
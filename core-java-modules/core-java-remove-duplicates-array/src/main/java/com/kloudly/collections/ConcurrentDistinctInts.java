@@ -0,0 +1,228 @@
+package com.kloudly.collections;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects the distinct int values added by many producer threads, and gives
+ * them back in the order they were first inserted.
+ * <p>
+ * The values are spread over independent stripes by their hash, each stripe
+ * being a primitive open-addressing table with its own lock, so producers
+ * only contend when they hit the same stripe at the same time. No counter is
+ * shared between stripes: every new value is appended to its stripe with a
+ * time stamp, and a snapshot sorts the values of all stripes by stamp.
+ * <p>
+ * The stamps of a thread are strictly increasing, so the values added by one
+ * thread come back in the order that thread added them. Values added by
+ * different threads come back in the order they were added, up to the
+ * resolution of System.nanoTime; equal stamps are ordered by stripe.
+ */
+public final class ConcurrentDistinctInts {
+    //the last stamp of each thread, in System.nanoTime units
+    private static final ThreadLocal<long[]> LAST_STAMP = ThreadLocal.withInitial(() -> new long[]{System.nanoTime()});
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final long origin = System.nanoTime();
+
+    public ConcurrentDistinctInts(){
+        this(1024);
+    }
+
+    /**
+     * @param expectedSize : the number of distinct values expected, used to
+     * size the stripes up front
+     */
+    public ConcurrentDistinctInts(int expectedSize){
+        //a power of two, about four stripes per core
+        int stripeCount = Integer.highestOneBit(Math.max(16, Runtime.getRuntime().availableProcessors() * 4) - 1) << 1;
+        stripes = new Stripe[stripeCount];
+        for(int i = 0; i < stripeCount; i++){
+            stripes[i] = new Stripe(expectedSize / stripeCount);
+        }
+        stripeShift = Integer.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    /**
+     * @return true if the value was not present yet
+     */
+    public boolean add(int value){
+        int hash = IntOpenHashSet.mix(value);
+        Stripe stripe = stripes[hash >>> stripeShift];
+        stripe.lock.lock();
+        try{
+            return stripe.add(value, hash, this);
+        }finally{
+            stripe.lock.unlock();
+        }
+    }
+
+    public boolean contains(int value){
+        int hash = IntOpenHashSet.mix(value);
+        Stripe stripe = stripes[hash >>> stripeShift];
+        stripe.lock.lock();
+        try{
+            return stripe.contains(value, hash);
+        }finally{
+            stripe.lock.unlock();
+        }
+    }
+
+    public int size(){
+        int size = 0;
+        for(Stripe stripe : stripes){
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    /**
+     * @return the distinct values in the order they were first inserted. All
+     * stripes are locked while copying, so the snapshot holds exactly the
+     * values added before it and no add is seen half done
+     */
+    public int[] snapshot(){
+        int[] values;
+        long[] stamps;
+        for(Stripe stripe : stripes){
+            stripe.lock.lock();
+        }
+        try{
+            int size = size();
+            values = new int[size];
+            stamps = new long[size];
+            int offset = 0;
+            for(Stripe stripe : stripes){
+                System.arraycopy(stripe.values, 0, values, offset, stripe.size);
+                System.arraycopy(stripe.stamps, 0, stamps, offset, stripe.size);
+                offset += stripe.size;
+            }
+        }finally{
+            for(Stripe stripe : stripes){
+                stripe.lock.unlock();
+            }
+        }
+        //sorted outside the locks, producers can go on meanwhile
+        int[] order = new int[values.length];
+        for(int i = 0; i < order.length; i++){
+            order[i] = i;
+        }
+        mergeSort(stamps, order, new int[order.length], 0, order.length);
+        int[] result = new int[values.length];
+        for(int i = 0; i < result.length; i++){
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * @return a stamp after every stamp taken before by the current thread,
+     * relative to the creation of this set
+     */
+    private long nextStamp(){
+        long[] last = LAST_STAMP.get();
+        long now = System.nanoTime();
+        if(now - last[0] <= 0)
+            now = last[0] + 1;
+        last[0] = now;
+        return now - origin;
+    }
+
+    /**
+     * A stable merge sort of order on the stamps it points to, so that equal
+     * stamps keep their stripe and stripe insertion order.
+     */
+    private static void mergeSort(long[] stamps, int[] order, int[] buffer, int from, int to){
+        if(to - from < 2)
+            return;
+        int middle = (from + to) >>> 1;
+        mergeSort(stamps, order, buffer, from, middle);
+        mergeSort(stamps, order, buffer, middle, to);
+        if(stamps[order[middle - 1]] <= stamps[order[middle]])
+            return;
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for(int i = from; i < to; i++){
+            if(right == to || (left < middle && stamps[buffer[left]] <= stamps[buffer[right]]))
+                order[i] = buffer[left++];
+            else
+                order[i] = buffer[right++];
+        }
+    }
+
+    /**
+     * The values of a stripe and their stamps, in the order the stripe got
+     * them, indexed by an open-addressing table storing their position + 1.
+     * A position of 0 marks an empty slot, so every int value, including 0,
+     * can be stored.
+     */
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int[] positions;
+        private int mask;
+        private int[] values;
+        private long[] stamps;
+        //written under the lock, read without it by size()
+        private volatile int size;
+
+        Stripe(int expectedSize){
+            allocate(IntOpenHashSet.capacityFor(expectedSize));
+            values = new int[positions.length >>> 1];
+            stamps = new long[values.length];
+        }
+
+        boolean add(int value, int hash, ConcurrentDistinctInts owner){
+            int pos = hash & mask;
+            int position;
+            while((position = positions[pos]) != 0){
+                if(values[position - 1] == value)
+                    return false;
+                pos = (pos + 1) & mask;
+            }
+            int index = size;
+            boolean full = index + 1 > positions.length - (positions.length >>> 2);
+            if(full)
+                IntOpenHashSet.checkCanGrow(positions.length);
+            if(index == values.length){
+                values = Arrays.copyOf(values, index << 1);
+                stamps = Arrays.copyOf(stamps, index << 1);
+            }
+            values[index] = value;
+            stamps[index] = owner.nextStamp();
+            positions[pos] = index + 1;
+            size = index + 1;
+            if(full)
+                rehash();
+            return true;
+        }
+
+        boolean contains(int value, int hash){
+            int pos = hash & mask;
+            int position;
+            while((position = positions[pos]) != 0){
+                if(values[position - 1] == value)
+                    return true;
+                pos = (pos + 1) & mask;
+            }
+            return false;
+        }
+
+        private void allocate(int capacity){
+            positions = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        private void rehash(){
+            allocate(positions.length << 1);
+            for(int index = 0; index < size; index++){
+                int pos = IntOpenHashSet.mix(values[index]) & mask;
+                while(positions[pos] != 0){
+                    pos = (pos + 1) & mask;
+                }
+                positions[pos] = index + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.kloudly.collections;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch space to remove duplicates from many small arrays without
+ * allocating on every call. A context owns an open-addressing table and an
+ * output buffer that only grow, so once they fit the largest input seen the
+ * hot path allocates nothing.
+ * <p>
+ * Every slot of the table is stamped with the epoch of the call that filled
+ * it, and each call starts a new epoch. Slots from older calls count as
+ * empty, so the table never has to be cleared, and a small input only probes
+ * the beginning of a table that grew for a larger one.
+ * <p>
+ * A context is not thread-safe: create one per thread, or use {@link #forCurrentThread()}.
+ */
+public final class DedupContext {
+    //Up to this size, scanning the values already kept is cheaper than hashing
+    static final int LINEAR_SCAN_THRESHOLD = 16;
+    private static final ThreadLocal<DedupContext> CONTEXTS = ThreadLocal.withInitial(DedupContext::new);
+
+    private int[] keys = new int[0];
+    private int[] stamps = new int[0];
+    private int epoch;
+    private int[] buffer = new int[0];
+
+    /**
+     * @return the context bound to the calling thread
+     */
+    public static DedupContext forCurrentThread(){
+        return CONTEXTS.get();
+    }
+
+    /**
+     * Writes the distinct values of data into out, in the order of their
+     * first occurrence.
+     * @param out : receives the distinct values, at least data.length long.
+     * It may be data itself, which is then deduplicated in place
+     * @return the number of distinct values written at the beginning of out
+     */
+    public int removeDuplicates(int[] data, int[] out){
+        return removeDuplicates(data, data.length, out);
+    }
+
+    /**
+     * Same as {@link #removeDuplicates(int[], int[])} for the first length values of data.
+     */
+    public int removeDuplicates(int[] data, int length, int[] out){
+        if(length < 0 || length > data.length)
+            throw new IndexOutOfBoundsException("Invalid length : " + length);
+        if(out.length < length)
+            throw new IllegalArgumentException("Output array is smaller than the input!");
+        if(length <= LINEAR_SCAN_THRESHOLD)
+            return removeDuplicatesWithLinearScan(data, length, out);
+
+        int capacity = IntOpenHashSet.capacityFor(length);
+        if(capacity > keys.length){
+            keys = new int[capacity];
+            stamps = new int[capacity];
+            epoch = 0;
+        }
+        int stamp = nextEpoch();
+        int mask = capacity - 1;
+        int count = 0;
+        for(int i = 0; i < length; i++){
+            int value = data[i];
+            int pos = IntOpenHashSet.mix(value) & mask;
+            while(true){
+                if(stamps[pos] != stamp){
+                    stamps[pos] = stamp;
+                    keys[pos] = value;
+                    out[count++] = value;
+                    break;
+                }
+                if(keys[pos] == value)
+                    break;
+                pos = (pos + 1) & mask;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Deduplicates the first length values of data into the output buffer
+     * owned by this context.
+     * @return the number of distinct values at the beginning of {@link #buffer()}
+     */
+    public int removeDuplicates(int[] data, int length){
+        if(buffer.length < length){
+            buffer = new int[Math.max(length, buffer.length << 1)];
+        }
+        return removeDuplicates(data, length, buffer);
+    }
+
+    /**
+     * @return the output buffer of this context. Its content is overwritten by
+     * the next call to {@link #removeDuplicates(int[], int)}
+     */
+    public int[] buffer(){
+        return buffer;
+    }
+
+    //Exposed so that tests can reach the wrap around quickly
+    void setEpoch(int epoch){
+        this.epoch = epoch;
+    }
+
+    private int nextEpoch(){
+        epoch++;
+        if(epoch == 0){
+            //the stamps restart from 1 after wrapping, older stamps must not collide
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+        return epoch;
+    }
+
+    private static int removeDuplicatesWithLinearScan(int[] data, int length, int[] out){
+        int count = 0;
+        for(int i = 0; i < length; i++){
+            int value = data[i];
+            boolean isDuplicate = false;
+            for(int j = 0; j < count; j++){
+                if(out[j] == value){
+                    isDuplicate = true;
+                    break;
+                }
+            }
+            if(!isDuplicate){
+                out[count++] = value;
+            }
+        }
+        return count;
+    }
+}
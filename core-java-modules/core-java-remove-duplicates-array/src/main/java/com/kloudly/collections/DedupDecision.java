@@ -0,0 +1,81 @@
+package com.kloudly.collections;
+
+/**
+ * What ArraysDuplicatesHelper.removeDuplicates learned about an input and
+ * which strategy it picked for it.
+ */
+public final class DedupDecision {
+    private final DedupStrategy strategy;
+    private final int length;
+    private final int sampleSize;
+    private final long estimatedDistinct;
+    private final boolean sorted;
+    private final int min;
+    private final int max;
+
+    DedupDecision(DedupStrategy strategy, int length, int sampleSize, long estimatedDistinct,
+                  boolean sorted, int min, int max){
+        this.strategy = strategy;
+        this.length = length;
+        this.sampleSize = sampleSize;
+        this.estimatedDistinct = estimatedDistinct;
+        this.sorted = sorted;
+        this.min = min;
+        this.max = max;
+    }
+
+    public DedupStrategy getStrategy() {
+        return strategy;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return the number of elements the distinct count was estimated from,
+     * 0 when no estimate was needed
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    public long getEstimatedDistinct() {
+        return estimatedDistinct;
+    }
+
+    /**
+     * @return true if the input is sorted in ascending or descending order
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * @return the number of possible values between min and max
+     */
+    public long getRange() {
+        return length == 0 ? 0 : (long) max - min + 1;
+    }
+
+    @Override
+    public String toString() {
+        return "DedupDecision{" +
+                "strategy=" + strategy +
+                ", length=" + length +
+                ", sampleSize=" + sampleSize +
+                ", estimatedDistinct=" + estimatedDistinct +
+                ", sorted=" + sorted +
+                ", min=" + min +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package com.kloudly.collections;
+
+/**
+ * The paths ArraysDuplicatesHelper.removeDuplicates can dispatch to.
+ */
+public enum DedupStrategy {
+    //tiny arrays, or arrays with very few distinct values: linear scan of the output
+    SMALL_ARRAY,
+    //ascending or descending input: duplicates are adjacent
+    SORTED,
+    //values within a range small enough for one bit per possible value
+    BITMAP,
+    //general case: primitive open-addressing hash table
+    HASH_TABLE
+}
@@ -0,0 +1,52 @@
+package com.kloudly.collections;
+
+import java.util.Objects;
+
+/**
+ * Decides how the keys used by ArraysDuplicatesHelper.dedupBy are hashed and
+ * compared, for keys whose own hashCode/equals are missing, slow or not the
+ * wanted notion of equality.
+ * Null keys never reach a strategy: they are all considered equal.
+ *
+ * @param <K> the type of the keys
+ */
+public interface HashingStrategy<K> {
+
+    int hash(K key);
+
+    boolean equals(K first, K second);
+
+    /**
+     * @return the strategy using the hashCode and equals methods of the keys
+     */
+    static <K> HashingStrategy<K> natural(){
+        return new HashingStrategy<K>() {
+            @Override
+            public int hash(K key) {
+                return key.hashCode();
+            }
+
+            @Override
+            public boolean equals(K first, K second) {
+                return Objects.equals(first, second);
+            }
+        };
+    }
+
+    /**
+     * @return the strategy where a key is only equal to itself
+     */
+    static <K> HashingStrategy<K> identity(){
+        return new HashingStrategy<K>() {
+            @Override
+            public int hash(K key) {
+                return System.identityHashCode(key);
+            }
+
+            @Override
+            public boolean equals(K first, K second) {
+                return first == second;
+            }
+        };
+    }
+}
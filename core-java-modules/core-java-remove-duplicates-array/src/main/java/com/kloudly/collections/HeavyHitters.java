@@ -0,0 +1,167 @@
+package com.kloudly.collections;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Streaming top-k of the most frequent int values in bounded memory, with the
+ * Space-Saving algorithm (Metwally, Agrawal and El Abbadi, 2005).
+ * <p>
+ * Only capacity counters are kept. A value that is not tracked takes over the
+ * counter with the smallest count, inheriting that count as its possible
+ * overestimation. Every value occurring more than n / capacity times in a
+ * stream of n values is guaranteed to be tracked, and each reported count is
+ * at most n / capacity above the true one.
+ */
+public final class HeavyHitters {
+    private final int capacity;
+    private final int[] values;
+    private final long[] counts;
+    private final long[] errors;
+    //min-heap of counter slots ordered by count, and the position of each slot in it
+    private final int[] heap;
+    private final int[] heapPositions;
+    private final IntIntHashMap slots;
+    private int size;
+    private long total;
+
+    /**
+     * @param capacity : the number of counters, i.e. the largest k that can be
+     * asked for. More counters give tighter counts
+     */
+    public HeavyHitters(int capacity){
+        if(capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive!");
+        this.capacity = capacity;
+        this.values = new int[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapPositions = new int[capacity];
+        this.slots = new IntIntHashMap(capacity);
+    }
+
+    public void offer(int value){
+        total++;
+        int slot = slots.get(value, -1);
+        if(slot < 0 && size < capacity){
+            slot = size++;
+            values[slot] = value;
+            counts[slot] = 1;
+            slots.put(value, slot);
+            siftUp(slot, slot);
+            return;
+        }
+        if(slot < 0){
+            //the least frequent counter is taken over, its count becomes the error bound
+            slot = heap[0];
+            slots.remove(values[slot], -1);
+            errors[slot] = counts[slot];
+            values[slot] = value;
+            slots.put(value, slot);
+        }
+        counts[slot]++;
+        siftDown(heapPositions[slot]);
+    }
+
+    public void offer(int[] data){
+        for(int value : data){
+            offer(value);
+        }
+    }
+
+    /**
+     * @return the number of values offered so far
+     */
+    public long total(){
+        return total;
+    }
+
+    /**
+     * @return the k tracked values with the highest counts, most frequent first
+     */
+    public List<Entry> top(int k){
+        List<Entry> entries = new ArrayList<>(size);
+        for(int slot = 0; slot < size; slot++){
+            entries.add(new Entry(values[slot], counts[slot], errors[slot]));
+        }
+        entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return entries.subList(0, Math.min(k, entries.size()));
+    }
+
+    private void siftUp(int position, int slot){
+        long count = counts[slot];
+        while(position > 0){
+            int parent = (position - 1) >>> 1;
+            if(counts[heap[parent]] <= count)
+                break;
+            heap[position] = heap[parent];
+            heapPositions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = slot;
+        heapPositions[slot] = position;
+    }
+
+    private void siftDown(int position){
+        int slot = heap[position];
+        long count = counts[slot];
+        while(true){
+            int child = 2 * position + 1;
+            if(child >= size)
+                break;
+            if(child + 1 < size && counts[heap[child + 1]] < counts[heap[child]])
+                child++;
+            if(counts[heap[child]] >= count)
+                break;
+            heap[position] = heap[child];
+            heapPositions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = slot;
+        heapPositions[slot] = position;
+    }
+
+    public static final class Entry {
+        private final int value;
+        private final long count;
+        private final long error;
+
+        Entry(int value, long count, long error){
+            this.value = value;
+            this.count = count;
+            this.error = error;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        /**
+         * @return the estimated number of occurrences, never below the true one
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the maximum overestimation of getCount()
+         */
+        public long getError() {
+            return error;
+        }
+
+        /**
+         * @return the number of occurrences the value is guaranteed to have
+         */
+        public long getGuaranteedCount() {
+            return count - error;
+        }
+
+        @Override
+        public String toString() {
+            return value + "=" + count + "(+/-" + error + ")";
+        }
+    }
+}
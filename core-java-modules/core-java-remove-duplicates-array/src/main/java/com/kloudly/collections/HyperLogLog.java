@@ -0,0 +1,61 @@
+package com.kloudly.collections;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct int values added to it,
+ * using 2^precision one-byte registers.
+ */
+final class HyperLogLog {
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * @param precision : between 4 and 16. The standard error is about
+     * 1.04 / sqrt(2^precision)
+     */
+    HyperLogLog(int precision){
+        if(precision < 4 || precision > 16)
+            throw new IllegalArgumentException("Precision must be between 4 and 16!");
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    void add(int value){
+        long hash = IntOpenHashSet.mix64(value);
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        //rank of the first 1 bit in the remaining bits, the sentinel bit bounds it
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if(rank > registers[index]){
+            registers[index] = (byte) rank;
+        }
+    }
+
+    long estimate(){
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for(byte register : registers){
+            sum += 1.0 / (1L << register);
+            if(register == 0)
+                zeros++;
+        }
+        double estimate = alpha(m) * m * m / sum;
+        //small range correction: linear counting is more accurate there
+        if(estimate <= 2.5 * m && zeros > 0){
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m){
+        switch (m){
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.kloudly.collections;
+
+import java.util.Arrays;
+
+/**
+ * Exact number of occurrences of every distinct int value, without boxing.
+ * The distinct values are kept in the order of their first occurrence, with
+ * their count at the same index, so they can be walked like two parallel
+ * arrays.
+ */
+public final class IntCountMap {
+    private final IntIntHashMap indexes;
+    private int[] values;
+    private int[] counts;
+    private int size;
+
+    public IntCountMap(){
+        this(16);
+    }
+
+    /**
+     * @param expectedDistinct : the number of distinct values expected
+     */
+    public IntCountMap(int expectedDistinct){
+        int capacity = Math.max(4, expectedDistinct);
+        indexes = new IntIntHashMap(capacity);
+        values = new int[capacity];
+        counts = new int[capacity];
+    }
+
+    /**
+     * Counts one more occurrence of value.
+     * @return the number of occurrences of value so far
+     */
+    public int increment(int value){
+        int index = indexes.getOrPut(value, size);
+        if(index == size){
+            if(size == values.length){
+                values = Arrays.copyOf(values, size << 1);
+                counts = Arrays.copyOf(counts, size << 1);
+            }
+            values[size++] = value;
+        }
+        return ++counts[index];
+    }
+
+    /**
+     * @return the number of occurrences of value, 0 if it never occurred
+     */
+    public int count(int value){
+        int index = indexes.get(value, -1);
+        return index < 0 ? 0 : counts[index];
+    }
+
+    /**
+     * @return the number of distinct values
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * @return the index-th distinct value, in the order of first occurrence
+     */
+    public int valueAt(int index){
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * @return the number of occurrences of the index-th distinct value
+     */
+    public int countAt(int index){
+        checkIndex(index);
+        return counts[index];
+    }
+
+    /**
+     * @return the values occurring at least minCount times, in the order of
+     * their first occurrence. With 2, these are the duplicated values
+     */
+    public int[] valuesWithCountAtLeast(int minCount){
+        int matching = 0;
+        for(int i = 0; i < size; i++){
+            if(counts[i] >= minCount)
+                matching++;
+        }
+        int[] result = new int[matching];
+        int j = 0;
+        for(int i = 0; i < size; i++){
+            if(counts[i] >= minCount)
+                result[j++] = values[i];
+        }
+        return result;
+    }
+
+    public void forEach(EntryConsumer consumer){
+        for(int i = 0; i < size; i++){
+            consumer.accept(values[i], counts[i]);
+        }
+    }
+
+    private void checkIndex(int index){
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index : " + index + ", size : " + size);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int value, int count);
+    }
+}
@@ -0,0 +1,337 @@
+package com.kloudly.collections;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Removes duplicates from a stream of int chunks without holding the whole
+ * input in memory. Distinct values are passed downstream in the order of
+ * their first occurrence, as with ArraysDuplicatesHelper.
+ * <p>
+ * As long as the number of distinct values stays within the memory budget,
+ * each unseen value is emitted as soon as it is accepted. Once the budget is
+ * reached, values that are not in the in-memory table are spilled with their
+ * position to hash-partitioned temp files. Calling {@link #finish()}
+ * deduplicates every partition on its own (splitting it again if it still
+ * does not fit the budget) and merges the partitions back by position, so the
+ * spilled values are emitted last, still in first-occurrence order.
+ */
+public final class IntDeduplicator implements Closeable {
+    private static final int PARTITION_BITS = 6;
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+    //Beyond this depth the hash has no bits left to split a partition with
+    private static final int MAX_DEPTH = Integer.SIZE / PARTITION_BITS;
+    private static final int RECORD_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    private final IntConsumer downstream;
+    private final int maxValuesInMemory;
+    private final Path spillDirectory;
+
+    private IntOpenHashSet seen;
+    private long position;
+    private Path spillRoot;
+    private Path[] partitionFiles;
+    private DataOutputStream[] partitions;
+    private boolean finished;
+
+    /**
+     * @param downstream : receives every distinct value exactly once
+     * @param maxValuesInMemory : the maximum number of distinct values kept in
+     * the in-memory table before spilling to the default temp directory
+     */
+    public IntDeduplicator(IntConsumer downstream, int maxValuesInMemory){
+        this(downstream, maxValuesInMemory, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param downstream : receives every distinct value exactly once
+     * @param maxValuesInMemory : the maximum number of distinct values kept in
+     * the in-memory table before spilling
+     * @param spillDirectory : the directory where the spill files are created
+     */
+    public IntDeduplicator(IntConsumer downstream, int maxValuesInMemory, Path spillDirectory){
+        if(maxValuesInMemory <= 0)
+            throw new IllegalArgumentException("Memory budget must be positive!");
+        this.downstream = downstream;
+        this.maxValuesInMemory = maxValuesInMemory;
+        this.spillDirectory = spillDirectory;
+        this.seen = new IntOpenHashSet(Math.min(maxValuesInMemory, 1024));
+    }
+
+    /**
+     * Accepts len values of chunk starting at off.
+     */
+    public void accept(int[] chunk, int off, int len) throws IOException {
+        if(finished)
+            throw new IllegalStateException("The deduplicator is already finished!");
+        if(off < 0 || len < 0 || off > chunk.length - len)
+            throw new IndexOutOfBoundsException("Invalid range : off=" + off + ", len=" + len);
+        for(int i = off; i < off + len; i++){
+            int value = chunk[i];
+            if(partitions == null && seen.size() < maxValuesInMemory){
+                if(seen.add(value)){
+                    downstream.accept(value);
+                }
+            }else if(!seen.contains(value)){
+                spill(position + (i - off), value);
+            }
+        }
+        position += len;
+    }
+
+    /**
+     * @return true if some values did not fit the memory budget and went to disk
+     */
+    public boolean hasSpilled(){
+        return spillRoot != null;
+    }
+
+    /**
+     * Emits the distinct values that were spilled to disk and releases every
+     * resource. No value can be accepted afterwards.
+     */
+    public void finish() throws IOException {
+        if(finished)
+            return;
+        finished = true;
+        seen = null;
+        if(partitions == null)
+            return;
+        try{
+            closePartitions();
+            List<Path> runs = new ArrayList<>();
+            for(Path file : partitionFiles){
+                if(file != null){
+                    runs.add(firstOccurrences(file, 1));
+                }
+            }
+            mergeRuns(runs, (recordPosition, value) -> downstream.accept(value));
+        }finally{
+            deleteSpillFiles();
+        }
+    }
+
+    /**
+     * Releases every resource. Spilled values that were not emitted by
+     * {@link #finish()} are discarded.
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        seen = null;
+        try{
+            closePartitions();
+        }finally{
+            deleteSpillFiles();
+        }
+    }
+
+    private void spill(long recordPosition, int value) throws IOException {
+        if(partitions == null){
+            spillRoot = Files.createTempDirectory(spillDirectory, "int-dedup");
+            partitionFiles = new Path[PARTITIONS];
+            partitions = new DataOutputStream[PARTITIONS];
+        }
+        int partition = partitionOf(value, 0);
+        DataOutputStream out = partitions[partition];
+        if(out == null){
+            partitionFiles[partition] = newSpillFile();
+            out = create(partitionFiles[partition]);
+            partitions[partition] = out;
+        }
+        out.writeLong(recordPosition);
+        out.writeInt(value);
+    }
+
+    /**
+     * @return a run holding the first occurrence of every value of the file,
+     * sorted by position. The input file is deleted.
+     */
+    private Path firstOccurrences(Path file, int depth) throws IOException {
+        Path run = newSpillFile();
+        long records = Files.size(file) / RECORD_BYTES;
+        boolean overflow = false;
+        IntOpenHashSet partitionSeen = new IntOpenHashSet(Math.min(maxValuesInMemory, 1024));
+        try(DataInputStream in = open(file); DataOutputStream out = create(run)){
+            for(long r = 0; r < records; r++){
+                long recordPosition = in.readLong();
+                int value = in.readInt();
+                if(partitionSeen.add(value)){
+                    if(partitionSeen.size() > maxValuesInMemory && depth < MAX_DEPTH){
+                        overflow = true;
+                        break;
+                    }
+                    out.writeLong(recordPosition);
+                    out.writeInt(value);
+                }
+            }
+        }
+        if(!overflow){
+            Files.delete(file);
+            return run;
+        }
+
+        //The partition is still too large: split it with the next hash bits
+        Files.delete(run);
+        partitionSeen = null;
+        Path[] subFiles = new Path[PARTITIONS];
+        DataOutputStream[] subPartitions = new DataOutputStream[PARTITIONS];
+        try(DataInputStream in = open(file)){
+            for(long r = 0; r < records; r++){
+                long recordPosition = in.readLong();
+                int value = in.readInt();
+                int partition = partitionOf(value, depth);
+                if(subPartitions[partition] == null){
+                    subFiles[partition] = newSpillFile();
+                    subPartitions[partition] = create(subFiles[partition]);
+                }
+                subPartitions[partition].writeLong(recordPosition);
+                subPartitions[partition].writeInt(value);
+            }
+        }finally{
+            for(DataOutputStream out : subPartitions){
+                if(out != null)
+                    out.close();
+            }
+        }
+        Files.delete(file);
+
+        List<Path> subRuns = new ArrayList<>();
+        for(Path subFile : subFiles){
+            if(subFile != null){
+                subRuns.add(firstOccurrences(subFile, depth + 1));
+            }
+        }
+        Path merged = newSpillFile();
+        try(DataOutputStream out = create(merged)){
+            mergeRuns(subRuns, (recordPosition, value) -> {
+                out.writeLong(recordPosition);
+                out.writeInt(value);
+            });
+        }
+        return merged;
+    }
+
+    /**
+     * Merges runs sorted by position into the sink and deletes them.
+     */
+    private void mergeRuns(List<Path> runs, RecordSink sink) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(1, runs.size()),
+                Comparator.comparingLong((RunReader reader) -> reader.position));
+        try{
+            for(Path run : runs){
+                RunReader reader = new RunReader(run);
+                if(reader.next()){
+                    queue.add(reader);
+                }else{
+                    reader.close();
+                }
+            }
+            while(!queue.isEmpty()){
+                RunReader reader = queue.poll();
+                sink.accept(reader.position, reader.value);
+                if(reader.next()){
+                    queue.add(reader);
+                }else{
+                    reader.close();
+                }
+            }
+        }finally{
+            for(RunReader reader : queue){
+                reader.close();
+            }
+        }
+        for(Path run : runs){
+            Files.deleteIfExists(run);
+        }
+    }
+
+    private static int partitionOf(int value, int depth){
+        return (IntOpenHashSet.mix(value) >>> (depth * PARTITION_BITS)) & (PARTITIONS - 1);
+    }
+
+    private Path newSpillFile() throws IOException {
+        return Files.createTempFile(spillRoot, "run", ".bin");
+    }
+
+    private static DataOutputStream create(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static DataInputStream open(Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+    }
+
+    private void closePartitions() throws IOException {
+        if(partitions == null)
+            return;
+        IOException failure = null;
+        for(int i = 0; i < partitions.length; i++){
+            if(partitions[i] != null){
+                try{
+                    partitions[i].close();
+                }catch(IOException e){
+                    failure = e;
+                }
+                partitions[i] = null;
+            }
+        }
+        if(failure != null)
+            throw failure;
+    }
+
+    private void deleteSpillFiles() throws IOException {
+        if(spillRoot == null || !Files.exists(spillRoot))
+            return;
+        try(Stream<Path> files = Files.list(spillRoot)){
+            for(Path file : (Iterable<Path>) files::iterator){
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(spillRoot);
+    }
+
+    private interface RecordSink {
+        void accept(long position, int value) throws IOException;
+    }
+
+    private static final class RunReader implements Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        private long position;
+        private int value;
+
+        RunReader(Path run) throws IOException {
+            this.remaining = Files.size(run) / RECORD_BYTES;
+            this.in = open(run);
+        }
+
+        boolean next() throws IOException {
+            if(remaining == 0)
+                return false;
+            remaining--;
+            position = in.readLong();
+            value = in.readInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
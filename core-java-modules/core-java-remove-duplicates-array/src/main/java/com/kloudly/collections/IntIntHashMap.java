@@ -0,0 +1,169 @@
+package com.kloudly.collections;
+
+/**
+ * A map from int keys to int values backed by an open-addressing hash table
+ * with linear probing, without boxing. As in IntOpenHashSet, the key 0 marks
+ * an empty slot and its own entry is kept apart. Removal shifts the following
+ * entries back instead of leaving tombstones, so lookups stay short.
+ */
+final class IntIntHashMap {
+    private static final int FREE = IntOpenHashSet.FREE;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int maxFill;
+    private boolean containsFree;
+    private int freeValue;
+    private int size;
+
+    IntIntHashMap(int expectedSize){
+        allocate(IntOpenHashSet.capacityFor(expectedSize));
+    }
+
+    /**
+     * @return the value of key, or missing if there is none
+     */
+    int get(int key, int missing){
+        if(key == FREE)
+            return containsFree ? freeValue : missing;
+        int pos = IntOpenHashSet.mix(key) & mask;
+        int current;
+        while((current = keys[pos]) != FREE){
+            if(current == key)
+                return values[pos];
+            pos = (pos + 1) & mask;
+        }
+        return missing;
+    }
+
+    /**
+     * @return the value of key if there is one, otherwise value after
+     * associating it with key
+     */
+    int getOrPut(int key, int value){
+        if(key == FREE){
+            if(containsFree)
+                return freeValue;
+            containsFree = true;
+            freeValue = value;
+            size++;
+            return value;
+        }
+        int pos = IntOpenHashSet.mix(key) & mask;
+        int current;
+        while((current = keys[pos]) != FREE){
+            if(current == key)
+                return values[pos];
+            pos = (pos + 1) & mask;
+        }
+        if(size + 1 >= maxFill)
+            IntOpenHashSet.checkCanGrow(keys.length);
+        keys[pos] = key;
+        values[pos] = value;
+        if(++size >= maxFill)
+            rehash(keys.length << 1);
+        return value;
+    }
+
+    void put(int key, int value){
+        if(key == FREE){
+            if(!containsFree)
+                size++;
+            containsFree = true;
+            freeValue = value;
+            return;
+        }
+        int pos = IntOpenHashSet.mix(key) & mask;
+        int current;
+        while((current = keys[pos]) != FREE){
+            if(current == key){
+                values[pos] = value;
+                return;
+            }
+            pos = (pos + 1) & mask;
+        }
+        if(size + 1 >= maxFill)
+            IntOpenHashSet.checkCanGrow(keys.length);
+        keys[pos] = key;
+        values[pos] = value;
+        if(++size >= maxFill)
+            rehash(keys.length << 1);
+    }
+
+    /**
+     * @return the value key was associated with, or missing if there was none
+     */
+    int remove(int key, int missing){
+        if(key == FREE){
+            if(!containsFree)
+                return missing;
+            containsFree = false;
+            size--;
+            return freeValue;
+        }
+        int pos = IntOpenHashSet.mix(key) & mask;
+        int current;
+        while((current = keys[pos]) != FREE){
+            if(current == key){
+                int value = values[pos];
+                shiftKeys(pos);
+                size--;
+                return value;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return missing;
+    }
+
+    int size(){
+        return size;
+    }
+
+    //Moves back the entries that were displaced past the freed slot
+    private void shiftKeys(int pos){
+        int last;
+        while(true){
+            last = pos;
+            pos = (pos + 1) & mask;
+            int current;
+            while(true){
+                if((current = keys[pos]) == FREE){
+                    keys[last] = FREE;
+                    return;
+                }
+                int slot = IntOpenHashSet.mix(current) & mask;
+                //the entry at pos may move to last only if its home slot is not in (last, pos]
+                if(last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos)
+                    break;
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = current;
+            values[last] = values[pos];
+        }
+    }
+
+    private void allocate(int capacity){
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        maxFill = capacity - (capacity >>> 2);
+    }
+
+    private void rehash(int capacity){
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for(int i = 0; i < oldKeys.length; i++){
+            int key = oldKeys[i];
+            if(key != FREE){
+                int pos = IntOpenHashSet.mix(key) & mask;
+                while(keys[pos] != FREE){
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = key;
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+}
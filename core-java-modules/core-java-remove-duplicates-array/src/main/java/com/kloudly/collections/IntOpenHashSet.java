@@ -0,0 +1,161 @@
+package com.kloudly.collections;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive int values backed by an open-addressing hash table
+ * with linear probing. Values are never boxed into Integer.
+ * The value 0 is used as the sentinel of an empty slot, so whether 0 itself
+ * belongs to the set is tracked by a separate flag.
+ */
+final class IntOpenHashSet {
+    static final int FREE = 0;
+    static final int MAX_CAPACITY = 1 << 30;
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] keys;
+    private int mask;
+    private int maxFill;
+    private boolean containsFree;
+    private int size;
+
+    /**
+     * @param expectedSize : the number of distinct values expected. The table
+     * is sized so that it never gets more than half full for that many values
+     */
+    IntOpenHashSet(int expectedSize){
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    boolean add(int value){
+        if(value == FREE){
+            if(containsFree)
+                return false;
+            containsFree = true;
+            size++;
+            return true;
+        }
+        int pos = mix(value) & mask;
+        int current;
+        while((current = keys[pos]) != FREE){
+            if(current == value)
+                return false;
+            pos = (pos + 1) & mask;
+        }
+        if(size + 1 >= maxFill)
+            checkCanGrow(keys.length);
+        keys[pos] = value;
+        if(++size >= maxFill)
+            rehash(keys.length << 1);
+        return true;
+    }
+
+    boolean contains(int value){
+        if(value == FREE)
+            return containsFree;
+        int pos = mix(value) & mask;
+        int current;
+        while((current = keys[pos]) != FREE){
+            if(current == value)
+                return true;
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    int size(){
+        return size;
+    }
+
+    /**
+     * Removes every value while keeping the current table, so that the set
+     * can be filled again without allocating.
+     */
+    void clear(){
+        if(size == 0)
+            return;
+        Arrays.fill(keys, FREE);
+        containsFree = false;
+        size = 0;
+    }
+
+    /**
+     * Clears the set and makes sure it can hold expectedSize values without
+     * rehashing. The table is only reallocated when it is too small.
+     */
+    void reset(int expectedSize){
+        int capacity = capacityFor(expectedSize);
+        if(capacity > keys.length){
+            allocate(capacity);
+        }else{
+            clear();
+        }
+    }
+
+    static int mix(int value){
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    //64-bit finalizer of MurmurHash3, offset so that 0 does not hash to 0
+    static long mix64(int value){
+        long h = value + 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53a2c2bL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    static int capacityFor(int expectedSize){
+        long needed = Math.max(MIN_CAPACITY, 2L * expectedSize);
+        if(needed > MAX_CAPACITY)
+            return MAX_CAPACITY;
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * Called before an entry is written into a table of the given capacity
+     * that will have to grow right after, so that a full table fails
+     * without having been modified.
+     *
+     * @throws IllegalStateException if the table is already at MAX_CAPACITY
+     */
+    static void checkCanGrow(int capacity){
+        if(capacity >= MAX_CAPACITY)
+            throw new IllegalStateException("A hash table cannot hold more than "
+                    + (MAX_CAPACITY - (MAX_CAPACITY >>> 2) - 1) + " entries");
+    }
+
+    private void allocate(int capacity){
+        keys = new int[capacity];
+        mask = capacity - 1;
+        maxFill = capacity - (capacity >>> 2);
+        containsFree = false;
+        size = 0;
+    }
+
+    private void rehash(int capacity){
+        int[] oldKeys = keys;
+        boolean hadFree = containsFree;
+        allocate(capacity);
+        for(int key : oldKeys){
+            if(key != FREE){
+                int pos = mix(key) & mask;
+                while(keys[pos] != FREE){
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = key;
+                size++;
+            }
+        }
+        if(hadFree){
+            containsFree = true;
+            size++;
+        }
+    }
+}
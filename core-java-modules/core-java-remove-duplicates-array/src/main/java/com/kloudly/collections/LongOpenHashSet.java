@@ -0,0 +1,105 @@
+package com.kloudly.collections;
+
+import java.util.Arrays;
+
+/**
+ * The long counterpart of IntOpenHashSet: primitive long values in an
+ * open-addressing hash table with linear probing, 0 marking an empty slot.
+ */
+final class LongOpenHashSet {
+    private static final long FREE = 0L;
+
+    private long[] keys;
+    private int mask;
+    private int maxFill;
+    private boolean containsFree;
+    private int size;
+
+    LongOpenHashSet(int expectedSize){
+        allocate(IntOpenHashSet.capacityFor(expectedSize));
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    boolean add(long value){
+        if(value == FREE){
+            if(containsFree)
+                return false;
+            containsFree = true;
+            size++;
+            return true;
+        }
+        int pos = mix(value) & mask;
+        long current;
+        while((current = keys[pos]) != FREE){
+            if(current == value)
+                return false;
+            pos = (pos + 1) & mask;
+        }
+        if(size + 1 >= maxFill)
+            IntOpenHashSet.checkCanGrow(keys.length);
+        keys[pos] = value;
+        if(++size >= maxFill)
+            rehash(keys.length << 1);
+        return true;
+    }
+
+    boolean contains(long value){
+        if(value == FREE)
+            return containsFree;
+        int pos = mix(value) & mask;
+        long current;
+        while((current = keys[pos]) != FREE){
+            if(current == value)
+                return true;
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    int size(){
+        return size;
+    }
+
+    void clear(){
+        if(size == 0)
+            return;
+        Arrays.fill(keys, FREE);
+        containsFree = false;
+        size = 0;
+    }
+
+    static int mix(long value){
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void allocate(int capacity){
+        keys = new long[capacity];
+        mask = capacity - 1;
+        maxFill = capacity - (capacity >>> 2);
+        containsFree = false;
+        size = 0;
+    }
+
+    private void rehash(int capacity){
+        long[] oldKeys = keys;
+        boolean hadFree = containsFree;
+        allocate(capacity);
+        for(long key : oldKeys){
+            if(key != FREE){
+                int pos = mix(key) & mask;
+                while(keys[pos] != FREE){
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = key;
+                size++;
+            }
+        }
+        if(hadFree){
+            containsFree = true;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.kloudly.collections;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Removes duplicates from a binary file of little-endian int32 values into
+ * another file of the same format, keeping the first-occurrence order.
+ * Both files are accessed through memory-mapped windows viewed as IntBuffer,
+ * so the values never go through a heap array; only the set of seen values
+ * lives on the heap.
+ * <p>
+ * The input is read twice: the first pass counts the distinct values so
+ * that the output can be mapped with its exact size, the second one writes
+ * them.
+ */
+final class MappedIntFileDeduplicator {
+    static final int DEFAULT_WINDOW_BYTES = 1 << 26;
+
+    private final int windowBytes;
+
+    /**
+     * @param windowBytes : the size of every mapped window, a multiple of 4
+     */
+    MappedIntFileDeduplicator(int windowBytes){
+        if(windowBytes <= 0 || windowBytes % Integer.BYTES != 0)
+            throw new IllegalArgumentException("Window size must be a positive multiple of 4!");
+        this.windowBytes = windowBytes;
+    }
+
+    /**
+     * @return the number of distinct values written to output
+     * @throws IllegalArgumentException if output is the input file, which
+     * would be truncated before the second pass
+     */
+    long removeDuplicates(Path input, Path output) throws IOException {
+        if(Files.exists(output) && Files.isSameFile(input, output))
+            throw new IllegalArgumentException("Output is the input file : " + output);
+        try(FileChannel in = FileChannel.open(input, StandardOpenOption.READ)){
+            long inputBytes = in.size();
+            if(inputBytes % Integer.BYTES != 0)
+                throw new IllegalArgumentException("Input size is not a multiple of 4 : " + inputBytes);
+
+            IntOpenHashSet seen = new IntOpenHashSet(1024);
+            for(long position = 0; position < inputBytes; position += windowBytes){
+                IntBuffer window = mapInput(in, position, inputBytes);
+                while(window.hasRemaining()){
+                    seen.add(window.get());
+                }
+            }
+            long outputBytes = (long) seen.size() * Integer.BYTES;
+            seen.clear();
+
+            try(FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)){
+                long outputPosition = 0;
+                IntBuffer outputWindow = null;
+                for(long position = 0; position < inputBytes; position += windowBytes){
+                    IntBuffer window = mapInput(in, position, inputBytes);
+                    while(window.hasRemaining()){
+                        int value = window.get();
+                        if(seen.add(value)){
+                            if(outputWindow == null || !outputWindow.hasRemaining()){
+                                long size = Math.min(windowBytes, outputBytes - outputPosition);
+                                outputWindow = out.map(FileChannel.MapMode.READ_WRITE, outputPosition, size)
+                                        .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                                outputPosition += size;
+                            }
+                            outputWindow.put(value);
+                        }
+                    }
+                }
+            }
+            return seen.size();
+        }
+    }
+
+    private IntBuffer mapInput(FileChannel in, long position, long inputBytes) throws IOException {
+        long size = Math.min(windowBytes, inputBytes - position);
+        return in.map(FileChannel.MapMode.READ_ONLY, position, size)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+}
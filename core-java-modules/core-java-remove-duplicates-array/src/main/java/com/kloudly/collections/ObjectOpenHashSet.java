@@ -0,0 +1,80 @@
+package com.kloudly.collections;
+
+/**
+ * A set of keys hashed and compared by a HashingStrategy, backed by an
+ * open-addressing table with linear probing. The hash of every key is
+ * computed once and stored next to it: probing compares stored hashes before
+ * calling equals, and growing the table never hashes a key again.
+ *
+ * @param <K> the type of the keys
+ */
+final class ObjectOpenHashSet<K> {
+    private final HashingStrategy<? super K> strategy;
+    private Object[] keys;
+    private int[] hashes;
+    private int mask;
+    private int maxFill;
+    private boolean containsNull;
+    private int size;
+
+    ObjectOpenHashSet(int expectedSize, HashingStrategy<? super K> strategy){
+        this.strategy = strategy;
+        allocate(IntOpenHashSet.capacityFor(expectedSize));
+    }
+
+    /**
+     * @return true if no equal key was already present
+     */
+    @SuppressWarnings("unchecked")
+    boolean add(K key){
+        if(key == null){
+            if(containsNull)
+                return false;
+            containsNull = true;
+            size++;
+            return true;
+        }
+        int hash = strategy.hash(key);
+        int pos = IntOpenHashSet.mix(hash) & mask;
+        Object current;
+        while((current = keys[pos]) != null){
+            if(hashes[pos] == hash && strategy.equals((K) current, key))
+                return false;
+            pos = (pos + 1) & mask;
+        }
+        if(size + 1 >= maxFill)
+            IntOpenHashSet.checkCanGrow(keys.length);
+        keys[pos] = key;
+        hashes[pos] = hash;
+        if(++size >= maxFill)
+            rehash(keys.length << 1);
+        return true;
+    }
+
+    int size(){
+        return size;
+    }
+
+    private void allocate(int capacity){
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        maxFill = capacity - (capacity >>> 2);
+    }
+
+    private void rehash(int capacity){
+        Object[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        allocate(capacity);
+        for(int i = 0; i < oldKeys.length; i++){
+            if(oldKeys[i] != null){
+                int pos = IntOpenHashSet.mix(oldHashes[i]) & mask;
+                while(keys[pos] != null){
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = oldKeys[i];
+                hashes[pos] = oldHashes[i];
+            }
+        }
+    }
+}
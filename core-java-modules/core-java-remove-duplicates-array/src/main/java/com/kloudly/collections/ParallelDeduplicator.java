@@ -0,0 +1,188 @@
+package com.kloudly.collections;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Removes duplicates from an int array on the fork-join pool while keeping
+ * the first-occurrence order of the sequential strategies.
+ * <ol>
+ *     <li>The array is cut into chunks, each chunk is deduplicated locally
+ *     and remembers the indexes of its local first occurrences.</li>
+ *     <li>Those candidates are merged into a shared lock-free table that keeps
+ *     the minimum index seen for every value.</li>
+ *     <li>Each chunk keeps the candidates whose index is that minimum, and the
+ *     survivors are copied to the result at offsets given by a prefix sum.</li>
+ * </ol>
+ */
+final class ParallelDeduplicator {
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * @param pool : the pool running the chunk tasks
+     * @param chunkSize : the number of elements processed by one task
+     */
+    ParallelDeduplicator(ForkJoinPool pool, int chunkSize){
+        if(chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive!");
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    int[] removeDuplicates(int[] data){
+        int chunks = (int) ((data.length + (long) chunkSize - 1) / chunkSize);
+        int[][] candidates = new int[chunks][];
+        int[] counts = new int[chunks];
+
+        //1. local first occurrences of every chunk
+        forEachChunk(chunks, chunk -> {
+            int from = chunk * chunkSize;
+            int to = Math.min(data.length, from + chunkSize);
+            IntOpenHashSet seen = new IntOpenHashSet(to - from);
+            int[] indexes = new int[to - from];
+            int count = 0;
+            for(int i = from; i < to; i++){
+                if(seen.add(data[i])){
+                    indexes[count++] = i;
+                }
+            }
+            candidates[chunk] = indexes;
+            counts[chunk] = count;
+        });
+
+        //2. minimum index of every value across chunks
+        long total = 0;
+        for(int count : counts){
+            total += count;
+        }
+        MinIndexTable minIndexes = new MinIndexTable((int) Math.min(total, Integer.MAX_VALUE));
+        forEachChunk(chunks, chunk -> {
+            int[] indexes = candidates[chunk];
+            for(int k = 0; k < counts[chunk]; k++){
+                minIndexes.offer(data[indexes[k]], indexes[k]);
+            }
+        });
+
+        //3. keep the global first occurrences, in place
+        forEachChunk(chunks, chunk -> {
+            int[] indexes = candidates[chunk];
+            int kept = 0;
+            for(int k = 0; k < counts[chunk]; k++){
+                int index = indexes[k];
+                if(minIndexes.minIndexOf(data[index]) == index){
+                    indexes[kept++] = index;
+                }
+            }
+            counts[chunk] = kept;
+        });
+
+        //4. copy the survivors at their final offsets
+        int[] offsets = new int[chunks];
+        int size = 0;
+        for(int chunk = 0; chunk < chunks; chunk++){
+            offsets[chunk] = size;
+            size += counts[chunk];
+        }
+        int[] result = new int[size];
+        forEachChunk(chunks, chunk -> {
+            int[] indexes = candidates[chunk];
+            int offset = offsets[chunk];
+            for(int k = 0; k < counts[chunk]; k++){
+                result[offset + k] = data[indexes[k]];
+            }
+        });
+        return result;
+    }
+
+    private void forEachChunk(int chunks, IntConsumer body){
+        pool.invoke(new ChunkRangeAction(0, chunks, body));
+    }
+
+    /**
+     * Splits a range of chunk numbers in halves until a single chunk is left.
+     */
+    private static final class ChunkRangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final transient IntConsumer body;
+
+        ChunkRangeAction(int from, int to, IntConsumer body){
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute(){
+            if(to - from <= 1){
+                if(from < to)
+                    body.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkRangeAction(from, middle, body), new ChunkRangeAction(middle, to, body));
+        }
+    }
+
+    /**
+     * Lock-free open-addressing table from value to the smallest index offered
+     * for it. Each slot packs the value in the high 32 bits and index + 1 in
+     * the low 32 bits, so 0 marks an empty slot for any value.
+     */
+    private static final class MinIndexTable {
+        private final AtomicLongArray slots;
+        private final int mask;
+
+        MinIndexTable(int expectedSize){
+            int capacity = IntOpenHashSet.capacityFor(expectedSize);
+            slots = new AtomicLongArray(capacity);
+            mask = capacity - 1;
+        }
+
+        void offer(int value, int index){
+            long packed = pack(value, index);
+            int pos = IntOpenHashSet.mix(value) & mask;
+            while(true){
+                long current = slots.get(pos);
+                if(current == 0L){
+                    if(slots.compareAndSet(pos, 0L, packed))
+                        return;
+                    continue;
+                }
+                if((int) (current >>> 32) == value){
+                    while(indexOf(current) > index){
+                        if(slots.compareAndSet(pos, current, packed))
+                            return;
+                        current = slots.get(pos);
+                    }
+                    return;
+                }
+                pos = (pos + 1) & mask;
+            }
+        }
+
+        int minIndexOf(int value){
+            int pos = IntOpenHashSet.mix(value) & mask;
+            long current;
+            while((current = slots.get(pos)) != 0L){
+                if((int) (current >>> 32) == value)
+                    return indexOf(current);
+                pos = (pos + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static long pack(int value, int index){
+            return ((long) value << 32) | ((index + 1L) & 0xFFFFFFFFL);
+        }
+
+        private static int indexOf(long packed){
+            return (int) packed - 1;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.kloudly.collections;
+
+import java.util.Arrays;
+
+/**
+ * A compressed set of int values in the style of Roaring bitmaps. Values are
+ * grouped by their 16 high bits, and the 16 low bits of each group are kept
+ * in the container that is the smallest for its content:
+ * <ul>
+ *     <li>an array container: sorted low bits, for up to 4096 values</li>
+ *     <li>a bitmap container: 65536 bits (8 KB), for denser groups</li>
+ *     <li>a run container: sorted runs of consecutive values, for groups
+ *     that are mostly ranges, down to 4 bytes for a full group</li>
+ * </ul>
+ */
+final class RoaringIntSet {
+    //Beyond this size an array container is larger than a bitmap container
+    static final int ARRAY_MAX_SIZE = 4096;
+    //Beyond this number of runs a run container is larger than a bitmap container
+    static final int RUNS_MAX_SIZE = 2048;
+    private static final int GROUP_SIZE = 1 << 16;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int groups;
+    private int size;
+    //Consecutive values usually share their group, so the last one is remembered
+    private int lastIndex = -1;
+
+    /**
+     * @return true if the value was not already present
+     */
+    boolean add(int value){
+        char key = (char) (value >>> 16);
+        int index = indexOf(key);
+        if(index < 0){
+            index = -index - 1;
+            insertGroup(index, key);
+        }
+        Container container = containers[index];
+        int before = container.cardinality;
+        container = container.add((char) value);
+        containers[index] = container;
+        if(container.cardinality == before)
+            return false;
+        size++;
+        return true;
+    }
+
+    boolean contains(int value){
+        int index = indexOf((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    int size(){
+        return size;
+    }
+
+    void clear(){
+        Arrays.fill(containers, 0, groups, null);
+        groups = 0;
+        size = 0;
+        lastIndex = -1;
+    }
+
+    /**
+     * @return an estimate of the heap used by the containers, in bytes
+     */
+    long sizeInBytes(){
+        long bytes = keys.length * 2L + containers.length * 4L;
+        for(int i = 0; i < groups; i++){
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the number of containers of the given class, for diagnostics
+     */
+    int countContainers(Class<?> type){
+        int count = 0;
+        for(int i = 0; i < groups; i++){
+            if(type.isInstance(containers[i]))
+                count++;
+        }
+        return count;
+    }
+
+    private int indexOf(char key){
+        int last = lastIndex;
+        if(last >= 0 && last < groups && keys[last] == key)
+            return last;
+        int index = Arrays.binarySearch(keys, 0, groups, key);
+        if(index >= 0)
+            lastIndex = index;
+        return index;
+    }
+
+    private void insertGroup(int index, char key){
+        if(groups == keys.length){
+            keys = Arrays.copyOf(keys, groups << 1);
+            containers = Arrays.copyOf(containers, groups << 1);
+        }
+        System.arraycopy(keys, index, keys, index + 1, groups - index);
+        System.arraycopy(containers, index, containers, index + 1, groups - index);
+        keys[index] = key;
+        containers[index] = new ArrayContainer();
+        groups++;
+        lastIndex = index;
+    }
+
+    abstract static class Container {
+        int cardinality;
+
+        /**
+         * @return this container, or the container replacing it when its
+         * content is better represented by another kind
+         */
+        abstract Container add(char low);
+
+        abstract boolean contains(char low);
+
+        abstract long sizeInBytes();
+    }
+
+    static final class ArrayContainer extends Container {
+        private char[] content = new char[4];
+
+        @Override
+        Container add(char low){
+            int index;
+            if(cardinality == 0 || low > content[cardinality - 1]){
+                index = -cardinality - 1;
+            }else{
+                index = Arrays.binarySearch(content, 0, cardinality, low);
+                if(index >= 0)
+                    return this;
+            }
+            if(cardinality == ARRAY_MAX_SIZE){
+                return convert().add(low);
+            }
+            index = -index - 1;
+            if(cardinality == content.length){
+                content = Arrays.copyOf(content, Math.min(ARRAY_MAX_SIZE, cardinality << 1));
+            }
+            System.arraycopy(content, index, content, index + 1, cardinality - index);
+            content[index] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        boolean contains(char low){
+            return Arrays.binarySearch(content, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        long sizeInBytes(){
+            return content.length * 2L;
+        }
+
+        private Container convert(){
+            int runs = 1;
+            for(int i = 1; i < cardinality; i++){
+                if(content[i] != content[i - 1] + 1)
+                    runs++;
+            }
+            if(runs <= RUNS_MAX_SIZE){
+                RunContainer container = new RunContainer();
+                for(int i = 0; i < cardinality; i++){
+                    container.add(content[i]);
+                }
+                return container;
+            }
+            BitmapContainer container = new BitmapContainer();
+            for(int i = 0; i < cardinality; i++){
+                container.add(content[i]);
+            }
+            return container;
+        }
+    }
+
+    static final class BitmapContainer extends Container {
+        private final long[] bits = new long[GROUP_SIZE / Long.SIZE];
+
+        @Override
+        Container add(char low){
+            long mask = 1L << low;
+            int word = low >>> 6;
+            if((bits[word] & mask) != 0)
+                return this;
+            bits[word] |= mask;
+            cardinality++;
+            if(cardinality == GROUP_SIZE){
+                return RunContainer.full();
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char low){
+            return (bits[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        long sizeInBytes(){
+            return bits.length * 8L;
+        }
+    }
+
+    static final class RunContainer extends Container {
+        //run i covers starts[i] to starts[i] + lengths[i], both included
+        private char[] starts = new char[2];
+        private char[] lengths = new char[2];
+        private int runs;
+
+        static RunContainer full(){
+            RunContainer container = new RunContainer();
+            container.starts[0] = 0;
+            container.lengths[0] = (char) (GROUP_SIZE - 1);
+            container.runs = 1;
+            container.cardinality = GROUP_SIZE;
+            return container;
+        }
+
+        @Override
+        Container add(char low){
+            int index = lastRunStartingAtOrBefore(low);
+            if(index >= 0){
+                int end = starts[index] + lengths[index];
+                if(low <= end)
+                    return this;
+                if(low == end + 1){
+                    lengths[index]++;
+                    cardinality++;
+                    mergeWithNext(index);
+                    return this;
+                }
+            }
+            int next = index + 1;
+            if(next < runs && starts[next] == low + 1){
+                starts[next]--;
+                lengths[next]++;
+                cardinality++;
+                return this;
+            }
+            if(runs == RUNS_MAX_SIZE){
+                return toBitmap().add(low);
+            }
+            insertRun(next, low);
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        boolean contains(char low){
+            int index = lastRunStartingAtOrBefore(low);
+            return index >= 0 && low <= starts[index] + lengths[index];
+        }
+
+        @Override
+        long sizeInBytes(){
+            return starts.length * 4L;
+        }
+
+        private int lastRunStartingAtOrBefore(char low){
+            if(runs > 0 && starts[runs - 1] <= low)
+                return runs - 1;
+            int index = Arrays.binarySearch(starts, 0, runs, low);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        private void mergeWithNext(int index){
+            int next = index + 1;
+            if(next < runs && starts[next] == starts[index] + lengths[index] + 1){
+                lengths[index] = (char) (lengths[index] + lengths[next] + 1);
+                System.arraycopy(starts, next + 1, starts, next, runs - next - 1);
+                System.arraycopy(lengths, next + 1, lengths, next, runs - next - 1);
+                runs--;
+            }
+        }
+
+        private void insertRun(int index, char low){
+            if(runs == starts.length){
+                int capacity = Math.min(RUNS_MAX_SIZE, runs << 1);
+                starts = Arrays.copyOf(starts, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            System.arraycopy(starts, index, starts, index + 1, runs - index);
+            System.arraycopy(lengths, index, lengths, index + 1, runs - index);
+            starts[index] = low;
+            lengths[index] = 0;
+            runs++;
+        }
+
+        private Container toBitmap(){
+            BitmapContainer container = new BitmapContainer();
+            for(int i = 0; i < runs; i++){
+                for(int value = starts[i]; value <= starts[i] + lengths[i]; value++){
+                    container.add((char) value);
+                }
+            }
+            return container;
+        }
+    }
+}
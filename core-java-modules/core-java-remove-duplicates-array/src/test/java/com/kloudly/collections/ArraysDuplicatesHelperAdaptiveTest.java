@@ -0,0 +1,136 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArraysDuplicatesHelperAdaptiveTest {
+    private ArraysDuplicatesHelper bean;
+    private List<DedupDecision> decisions;
+
+    @BeforeEach
+    void setUp(){
+        decisions = new ArrayList<>();
+        bean = new ArraysDuplicatesHelper(decisions::add);
+    }
+
+    @Test
+    public void simpleTestAdaptive1() {
+        //Given
+        int[] input = new int[]{1,1};
+        //When
+        int[] result = bean.removeDuplicates(input);
+        //Then
+        assertAll(
+                () -> assertEquals(1,result.length,"Sizes don't match!"),
+                () -> assertEquals(1, result[0],"Content is incorrect!"),
+                () -> assertEquals(DedupStrategy.SMALL_ARRAY, decisions.get(0).getStrategy())
+        );
+    }
+
+    @Test
+    public void simpleTestAdaptive2() {
+        //Given
+        int[] input = new int[]{1,1,2,3,-2,-2};
+        //When
+        int[] result = bean.removeDuplicates(input);
+        //Then
+        assertAll(
+                () -> assertEquals(4,result.length,"Sizes don't match!"),
+                () -> assertEquals(1, result[0],"Content is incorrect!"),
+                () -> assertEquals(2, result[1],"Content is incorrect!"),
+                () -> assertEquals(3, result[2],"Content is incorrect!"),
+                () -> assertEquals(-2, result[3],"Content is incorrect!")
+        );
+    }
+
+    @Test
+    public void sortedTestAdaptive() {
+        //Given
+        int[] input = new Random(1).ints(10_000, -1_000_000, 1_000_000).sorted().toArray();
+        //When
+        int[] result = bean.removeDuplicates(input);
+        //Then
+        assertEquals(DedupStrategy.SORTED, decisions.get(0).getStrategy());
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), result);
+    }
+
+    @Test
+    public void bitmapTestAdaptive() {
+        //Given
+        int[] input = new Random(2).ints(10_000, 5_000, 25_000).toArray();
+        //When
+        int[] result = bean.removeDuplicates(input);
+        //Then
+        assertEquals(DedupStrategy.BITMAP, decisions.get(0).getStrategy());
+        assertTrue(decisions.get(0).getRange() <= 20_000);
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), result);
+    }
+
+    @Test
+    public void fewDistinctTestAdaptive() {
+        //Given
+        int[] input = new Random(3).ints(10_000, 0, 10).map(i -> i * 1_000_000_000 - 5).toArray();
+        //When
+        int[] result = bean.removeDuplicates(input);
+        //Then
+        assertEquals(DedupStrategy.SMALL_ARRAY, decisions.get(0).getStrategy());
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), result);
+    }
+
+    @Test
+    public void fewDistinctWithRareValuesTestAdaptive() {
+        //Given a sample dominated by two values, hiding many rare ones
+        int[] input = new Random(4).ints(100_000, 0, 2).map(i -> i * Integer.MAX_VALUE).toArray();
+        for(int i = 1; i < input.length; i += 1024){
+            input[i] = -i * 10_000;
+        }
+        //When
+        int[] result = bean.removeDuplicates(input);
+        //Then
+        assertEquals(DedupStrategy.SMALL_ARRAY, decisions.get(0).getStrategy());
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), result);
+    }
+
+    @Test
+    public void hashTableTestAdaptive() {
+        //Given
+        int[] input = new Random(5).ints(100_000).map(i -> i % 40_000 * 50_000).toArray();
+        //When
+        int[] result = bean.removeDuplicates(input);
+        //Then
+        DedupDecision decision = decisions.get(0);
+        assertEquals(DedupStrategy.HASH_TABLE, decision.getStrategy());
+        assertEquals(ArraysDuplicatesHelper.SAMPLE_SIZE, decision.getSampleSize());
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), result);
+    }
+
+    @Test
+    public void emptyTestAdaptive() {
+        assertArrayEquals(new int[0], bean.removeDuplicates(new int[0]));
+    }
+
+    @Test
+    public void hyperLogLogEstimate() {
+        //Given
+        HyperLogLog sketch = new HyperLogLog(12);
+        int[] values = new Random(6).ints(200_000).toArray();
+        long distinct = Arrays.stream(values).distinct().count();
+        //When
+        for(int value : values){
+            sketch.add(value);
+        }
+        //Then
+        long estimate = sketch.estimate();
+        assertTrue(Math.abs(estimate - distinct) < distinct * 0.05, "Estimate too far : " + estimate);
+    }
+}
@@ -0,0 +1,85 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArraysDuplicatesHelperApproximateTest {
+    private static ArraysDuplicatesHelper bean;
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+    }
+
+    @Test
+    public void simpleTestApproximate1() {
+        //Given
+        int[] input = new int[]{1,1};
+        //When
+        int[] result = bean.removeDuplicatesApproximate(input, 100, 0.01);
+        //Then
+        assertAll(
+                () -> assertEquals(1,result.length,"Sizes don't match!"),
+                () -> assertEquals(1, result[0],"Content is incorrect!")
+        );
+    }
+
+    @Test
+    public void simpleTestApproximate2() {
+        //Given
+        int[] input = new int[]{1,1,2,3,-2,-2};
+        //When
+        int[] result = bean.removeDuplicatesApproximate(input, 100, 0.01);
+        //Then
+        assertAll(
+                () -> assertEquals(4,result.length,"Sizes don't match!"),
+                () -> assertEquals(1, result[0],"Content is incorrect!"),
+                () -> assertEquals(2, result[1],"Content is incorrect!"),
+                () -> assertEquals(3, result[2],"Content is incorrect!"),
+                () -> assertEquals(-2, result[3],"Content is incorrect!")
+        );
+    }
+
+    @Test
+    public void falsePositiveRateTestApproximate() {
+        //Given
+        int[] input = new Random(12).ints(300_000, 0, 200_000).toArray();
+        int[] exact = bean.removeDuplicatesWithPrimitiveHashTable(input);
+        BlockedBloomFilter filter = BlockedBloomFilter.forExpected(exact.length, 0.01);
+        //When
+        int[] result = bean.removeDuplicatesApproximate(input, filter);
+        //Then the result is an ordered subsequence of the exact result
+        int j = 0;
+        for(int value : result){
+            while(exact[j] != value){
+                j++;
+            }
+            j++;
+        }
+        double dropped = 1 - (double) result.length / exact.length;
+        assertTrue(dropped < 0.02, "Too many values dropped : " + dropped);
+        assertTrue(filter.fillRatio() > 0.3 && filter.fillRatio() < 0.7, "Unexpected fill : " + filter.fillRatio());
+    }
+
+    @Test
+    public void invalidRateTestApproximate() {
+        assertThrows(IllegalArgumentException.class, () -> BlockedBloomFilter.forExpected(100, 1.5));
+    }
+
+    @Test
+    public void fixedMemoryTestApproximate() {
+        //Given a filter sized for the distinct values, not for the input length
+        int[] input = new Random(7).ints(1_000_000, 0, 1_000).toArray();
+        //When
+        int[] result = bean.removeDuplicatesApproximate(input, 1_000, 0.001);
+        //Then
+        assertTrue(result.length > 990 && result.length <= 1_000, "Unexpected size : " + result.length);
+        assertThrows(IllegalArgumentException.class, () -> bean.removeDuplicatesApproximate(input, 0, 0.01));
+    }
+}
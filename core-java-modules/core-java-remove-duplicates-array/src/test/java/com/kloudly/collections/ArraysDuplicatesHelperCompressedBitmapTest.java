@@ -0,0 +1,91 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArraysDuplicatesHelperCompressedBitmapTest {
+    private static ArraysDuplicatesHelper bean;
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+    }
+
+    @Test
+    public void simpleTestCompressedBitmap1() {
+        //Given
+        int[] input = new int[]{1,1};
+        //When
+        int[] result = bean.removeDuplicatesWithCompressedBitmap(input);
+        //Then
+        assertAll(
+                () -> assertEquals(1,result.length,"Sizes don't match!"),
+                () -> assertEquals(1, result[0],"Content is incorrect!")
+        );
+    }
+
+    @Test
+    public void simpleTestCompressedBitmap2() {
+        //Given
+        int[] input = new int[]{1,1,2,3,-2,-2};
+        //When
+        int[] result = bean.removeDuplicatesWithCompressedBitmap(input);
+        //Then
+        assertAll(
+                () -> assertEquals(4,result.length,"Sizes don't match!"),
+                () -> assertEquals(1, result[0],"Content is incorrect!"),
+                () -> assertEquals(2, result[1],"Content is incorrect!"),
+                () -> assertEquals(3, result[2],"Content is incorrect!"),
+                () -> assertEquals(-2, result[3],"Content is incorrect!")
+        );
+    }
+
+    @Test
+    public void denseRangeTestCompressedBitmap() {
+        //Given
+        int[] input = new Random(8).ints(500_000, 0, 300_000).toArray();
+        //When
+        int[] result = bean.removeDuplicatesWithCompressedBitmap(input);
+        //Then
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), result);
+    }
+
+    @Test
+    public void sparseTestCompressedBitmap() {
+        //Given
+        int[] input = new Random(9).ints(200_000).map(i -> i % 70_000).toArray();
+        //When
+        int[] result = bean.removeDuplicatesWithCompressedBitmap(input);
+        //Then
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), result);
+    }
+
+    @Test
+    public void containerKindsTest() {
+        //Given
+        RoaringIntSet set = new RoaringIntSet();
+        //When
+        IntStream.range(0, 1 << 16).forEach(set::add);                              //full group
+        new Random(10).ints(30_000, 1 << 16, 2 << 16).forEach(set::add);            //dense group
+        IntStream.range(0, 100).forEach(i -> set.add((2 << 16) + i * 7));           //sparse group
+        IntStream.range(0, 5_000).forEach(i -> set.add((3 << 16) + i));             //one long run
+        //Then
+        assertEquals(2, set.countContainers(RoaringIntSet.RunContainer.class));
+        assertEquals(1, set.countContainers(RoaringIntSet.BitmapContainer.class));
+        assertEquals(1, set.countContainers(RoaringIntSet.ArrayContainer.class));
+        assertTrue(set.contains(65_535));
+        assertTrue(set.contains((2 << 16) + 98 * 7));
+        assertFalse(set.contains((2 << 16) + 1));
+        assertTrue(set.contains((3 << 16) + 4_999));
+        assertFalse(set.contains((3 << 16) + 5_000));
+        assertTrue(set.sizeInBytes() < 12_000, "Too large : " + set.sizeInBytes());
+    }
+}
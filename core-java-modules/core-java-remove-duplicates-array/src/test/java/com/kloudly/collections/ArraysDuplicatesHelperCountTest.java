@@ -0,0 +1,75 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ArraysDuplicatesHelperCountTest {
+    private static ArraysDuplicatesHelper bean;
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+    }
+
+    @Test
+    public void simpleTestCount() {
+        //Given
+        int[] input = new int[]{1,1,2,3,-2,-2,0,-2};
+        //When
+        IntCountMap result = bean.countOccurrences(input);
+        //Then
+        assertEquals(5, result.size());
+        assertEquals(2, result.count(1));
+        assertEquals(1, result.count(0));
+        assertEquals(3, result.count(-2));
+        assertEquals(0, result.count(4));
+        assertEquals(-2, result.valueAt(3));
+        assertEquals(3, result.countAt(3));
+        assertArrayEquals(new int[]{1,-2}, result.valuesWithCountAtLeast(2));
+    }
+
+    @Test
+    public void randomTestCount() {
+        //Given
+        int[] input = new Random(19).ints(100_000, -2_000, 2_000).toArray();
+        Map<Integer,Integer> expected = new HashMap<>();
+        for(int value : input){
+            expected.merge(value, 1, Integer::sum);
+        }
+        //When
+        IntCountMap result = bean.countOccurrences(input);
+        //Then
+        assertEquals(expected.size(), result.size());
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), result.valuesWithCountAtLeast(1));
+        result.forEach((value, count) -> assertEquals(expected.get(value).intValue(), count));
+    }
+
+    @Test
+    public void removeTestIntIntHashMap() {
+        //Given
+        IntIntHashMap map = new IntIntHashMap(4);
+        Map<Integer,Integer> expected = new HashMap<>();
+        Random random = new Random(20);
+        //When
+        for(int i = 0; i < 50_000; i++){
+            int key = random.nextInt(500) - 250;
+            if(random.nextBoolean()){
+                map.put(key, i);
+                expected.put(key, i);
+            }else{
+                assertEquals(expected.containsKey(key) ? expected.remove(key) : -1, map.remove(key, -1));
+            }
+        }
+        //Then
+        assertEquals(expected.size(), map.size());
+        for(int key = -250; key < 250; key++){
+            assertEquals(expected.getOrDefault(key, -1).intValue(), map.get(key, -1));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ArraysDuplicatesHelperKeyTest {
+    private static ArraysDuplicatesHelper bean;
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+    }
+
+    static final class Person {
+        final long id;
+        final String name;
+
+        Person(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    @Test
+    public void simpleTestLongArray() {
+        //Given
+        long[] input = new long[]{1L,0L,Long.MIN_VALUE,-3L,0L,1L,Long.MAX_VALUE,-3L};
+        //When
+        long[] result = bean.removeDuplicates(input);
+        //Then
+        assertArrayEquals(new long[]{1L,0L,Long.MIN_VALUE,-3L,Long.MAX_VALUE}, result);
+    }
+
+    @Test
+    public void randomTestLongArray() {
+        //Given
+        long[] input = new Random(23).longs(100_000, -5_000L, 5_000L).toArray();
+        LinkedHashSet<Long> expected = new LinkedHashSet<>();
+        for(long value : input){
+            expected.add(value);
+        }
+        //When
+        long[] result = bean.removeDuplicates(input);
+        //Then
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), result);
+    }
+
+    @Test
+    public void naturalTestDedupBy() {
+        //Given
+        List<String> input = Arrays.asList("apple", "Avocado", "banana", "blueberry", "cherry", null, "apricot", null);
+        //When
+        List<String> result = bean.dedupBy(input, value -> value == null ? null : value.toLowerCase(Locale.ROOT).charAt(0));
+        //Then
+        assertEquals(Arrays.asList("apple", "banana", "cherry", null), result);
+    }
+
+    @Test
+    public void strategyTestDedupBy() {
+        //Given
+        String[] input = new String[]{"Kloudly", "KLOUDLY", "java", "Java", "kloudly"};
+        HashingStrategy<String> ignoreCase = new HashingStrategy<String>() {
+            @Override
+            public int hash(String key) {
+                return key.toLowerCase(Locale.ROOT).hashCode();
+            }
+
+            @Override
+            public boolean equals(String first, String second) {
+                return first.equalsIgnoreCase(second);
+            }
+        };
+        //When
+        String[] result = bean.dedupBy(input, value -> value, ignoreCase);
+        //Then
+        assertArrayEquals(new String[]{"Kloudly", "java"}, result);
+        assertSame(input[0], result[0]);
+    }
+
+    @Test
+    public void identityTestDedupBy() {
+        //Given
+        String shared = "shared";
+        String copy = new String(shared);
+        List<String> input = Arrays.asList(shared, copy, shared);
+        //When
+        List<String> result = bean.dedupBy(input, value -> value, HashingStrategy.identity());
+        //Then
+        assertEquals(2, result.size());
+        assertSame(shared, result.get(0));
+        assertSame(copy, result.get(1));
+    }
+
+    @Test
+    public void primitiveKeyTestDedupBy() {
+        //Given
+        Person[] input = new Person[]{
+                new Person(7L, "Ann"), new Person(0L, "Bob"), new Person(7L, "Carl"),
+                new Person(1L << 40, "Dan"), new Person(0L, "Eve")};
+        //When
+        Person[] byLongKey = bean.dedupByLongKey(input, person -> person.id);
+        Person[] byIntKey = bean.dedupByIntKey(input, person -> person.name.length());
+        List<Person> byKey = bean.dedupBy(Arrays.asList(input), person -> person.id);
+        //Then
+        assertArrayEquals(new Person[]{input[0], input[1], input[3]}, byLongKey);
+        assertArrayEquals(new Person[]{input[0], input[2]}, byIntKey);
+        assertEquals(Arrays.asList(byLongKey), byKey);
+    }
+
+    @Test
+    public void randomTestDedupBy() {
+        //Given
+        Random random = new Random(24);
+        Person[] input = new Person[50_000];
+        for(int i = 0; i < input.length; i++){
+            input[i] = new Person(random.nextInt(3_000), "p" + i);
+        }
+        //When
+        Person[] result = bean.dedupBy(input, person -> person.id);
+        //Then
+        long[] ids = new long[input.length];
+        for(int i = 0; i < input.length; i++){
+            ids[i] = input[i].id;
+        }
+        long[] expectedIds = bean.removeDuplicates(ids);
+        assertEquals(expectedIds.length, result.length);
+        for(int i = 0; i < result.length; i++){
+            assertEquals(expectedIds[i], result[i].id);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ArraysDuplicatesHelperMappedFileTest {
+    private static ArraysDuplicatesHelper bean;
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+    }
+
+    @Test
+    public void simpleTestMappedFile() throws IOException {
+        //Given
+        Path input = write(new int[]{1,1,2,3,-2,-2});
+        Path output = directory.resolve("output.bin");
+        //When
+        long count = bean.removeDuplicates(input, output);
+        //Then
+        assertEquals(4, count);
+        assertArrayEquals(new int[]{1,2,3,-2}, read(output));
+    }
+
+    @Test
+    public void smallWindowsTestMappedFile() throws IOException {
+        //Given
+        int[] values = new Random(13).ints(10_000, -3_000, 3_000).toArray();
+        Path input = write(values);
+        Path output = directory.resolve("output.bin");
+        //When
+        long count = new MappedIntFileDeduplicator(64).removeDuplicates(input, output);
+        //Then
+        int[] expected = bean.removeDuplicatesWithSet(values);
+        assertEquals(expected.length, count);
+        assertArrayEquals(expected, read(output));
+    }
+
+    @Test
+    public void emptyTestMappedFile() throws IOException {
+        //Given
+        Path input = write(new int[0]);
+        Path output = directory.resolve("output.bin");
+        //When
+        long count = bean.removeDuplicates(input, output);
+        //Then
+        assertEquals(0, count);
+        assertEquals(0, Files.size(output));
+    }
+
+    @Test
+    public void truncatedInputTestMappedFile() throws IOException {
+        //Given
+        Path input = Files.write(directory.resolve("input.bin"), new byte[]{1,2,3,4,5});
+        //When
+        //Then
+        assertThrows(IllegalArgumentException.class, () -> bean.removeDuplicates(input, directory.resolve("output.bin")));
+        assertFalse(Files.exists(directory.resolve("output.bin")));
+    }
+
+    @Test
+    public void sameFileTestMappedFile() throws IOException {
+        //Given
+        Path input = write(new int[]{1,1,2});
+        Path alias = directory.resolve(".").resolve("input.bin");
+        //When
+        //Then
+        assertThrows(IllegalArgumentException.class, () -> bean.removeDuplicates(input, alias));
+        assertArrayEquals(new int[]{1,1,2}, read(input));
+    }
+
+    private Path write(int[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(values);
+        return Files.write(directory.resolve("input.bin"), buffer.array());
+    }
+
+    private static int[] read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        int[] values = new int[buffer.remaining() / Integer.BYTES];
+        buffer.asIntBuffer().get(values);
+        return values;
+    }
+}
@@ -0,0 +1,87 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ArraysDuplicatesHelperParallelTest {
+    private static ArraysDuplicatesHelper bean;
+    private static ForkJoinPool pool;
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+        pool = new ForkJoinPool(4);
+    }
+    @AfterAll
+    static void tearDown(){
+        pool.shutdown();
+    }
+
+    @Test
+    public void simpleTestParallel1() {
+        //Given
+        int[] input = new int[]{1,1};
+        //When
+        int[] result = bean.removeDuplicatesParallel(input);
+        //Then
+        assertAll(
+                () -> assertEquals(1,result.length,"Sizes don't match!"),
+                () -> assertEquals(1, result[0],"Content is incorrect!")
+        );
+    }
+
+    @Test
+    public void simpleTestParallel2() {
+        //Given
+        int[] input = new int[]{1,1,2,3,-2,-2};
+        //When
+        int[] result = bean.removeDuplicatesParallel(input);
+        //Then
+        assertAll(
+                () -> assertEquals(4,result.length,"Sizes don't match!"),
+                () -> assertEquals(1, result[0],"Content is incorrect!"),
+                () -> assertEquals(2, result[1],"Content is incorrect!"),
+                () -> assertEquals(3, result[2],"Content is incorrect!"),
+                () -> assertEquals(-2, result[3],"Content is incorrect!")
+        );
+    }
+
+    @Test
+    public void smallChunksTestParallel() {
+        //Given
+        int[] input = new int[]{5,0,5,7,0,-1,7,8,-1,5,9};
+        ParallelDeduplicator deduplicator = new ParallelDeduplicator(pool, 2);
+        //When
+        int[] result = deduplicator.removeDuplicates(input);
+        //Then
+        assertArrayEquals(new int[]{5,0,7,-1,8,9}, result);
+    }
+
+    @Test
+    public void largeRandomTestParallel() {
+        //Given
+        int[] input = new Random(7).ints(1_000_000, -50_000, 50_000).toArray();
+        //When
+        int[] result = bean.removeDuplicatesParallel(input);
+        //Then
+        assertArrayEquals(bean.removeDuplicatesWithPrimitiveHashTable(input), result);
+    }
+
+    @Test
+    public void largeRandomTestParallelChunks() {
+        //Given
+        int[] input = new Random(11).ints(1_000_000, -50_000, 50_000).toArray();
+        ParallelDeduplicator deduplicator = new ParallelDeduplicator(pool, 10_000);
+        //When
+        int[] result = deduplicator.removeDuplicates(input);
+        //Then
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), result);
+    }
+}
@@ -0,0 +1,81 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ArraysDuplicatesHelperPrimitiveHashTableTest {
+    private static ArraysDuplicatesHelper bean;
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+    }
+
+    @Test
+    public void simpleTestPrimitiveHashTable1() {
+        //Given
+        int[] input = new int[]{1,1};
+        //When
+        int[] result = bean.removeDuplicatesWithPrimitiveHashTable(input);
+        //Then
+        assertAll(
+                () -> assertEquals(1,result.length,"Sizes don't match!"),
+                () -> assertEquals(1, result[0],"Content is incorrect!")
+        );
+    }
+
+    @Test
+    public void simpleTestPrimitiveHashTable2() {
+        //Given
+        int[] input = new int[]{1,1,2,3,-2,-2};
+        //When
+        int[] result = bean.removeDuplicatesWithPrimitiveHashTable(input);
+        //Then
+        assertAll(
+                () -> assertEquals(4,result.length,"Sizes don't match!"),
+                () -> assertEquals(1, result[0],"Content is incorrect!"),
+                () -> assertEquals(2, result[1],"Content is incorrect!"),
+                () -> assertEquals(3, result[2],"Content is incorrect!"),
+                () -> assertEquals(-2, result[3],"Content is incorrect!")
+        );
+    }
+
+    @Test
+    public void sentinelValueTestPrimitiveHashTable() {
+        //Given
+        int[] input = new int[]{0,5,0,Integer.MIN_VALUE,5,Integer.MAX_VALUE,Integer.MIN_VALUE};
+        //When
+        int[] result = bean.removeDuplicatesWithPrimitiveHashTable(input);
+        //Then
+        assertArrayEquals(new int[]{0,5,Integer.MIN_VALUE,Integer.MAX_VALUE}, result);
+    }
+
+    @Test
+    public void randomTestPrimitiveHashTable() {
+        //Given
+        int[] input = new Random(42).ints(100_000, -5_000, 5_000).toArray();
+        //When
+        int[] result = bean.removeDuplicatesWithPrimitiveHashTable(input);
+        //Then
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), result);
+    }
+
+    @Test
+    public void maximumCapacityTestPrimitiveHashTable() {
+        //Given
+        int maxCapacity = IntOpenHashSet.MAX_CAPACITY;
+        //When
+        int capacity = IntOpenHashSet.capacityFor(Integer.MAX_VALUE);
+        //Then
+        assertEquals(maxCapacity, capacity);
+        IntOpenHashSet.checkCanGrow(maxCapacity >>> 1);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> IntOpenHashSet.checkCanGrow(maxCapacity));
+        assertEquals("A hash table cannot hold more than 805306367 entries", e.getMessage());
+    }
+}
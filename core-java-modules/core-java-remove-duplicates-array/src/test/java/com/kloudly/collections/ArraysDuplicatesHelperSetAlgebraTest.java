@@ -0,0 +1,102 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ArraysDuplicatesHelperSetAlgebraTest {
+    private static ArraysDuplicatesHelper bean;
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+    }
+
+    @Test
+    public void simpleTestUnion() {
+        //Given
+        int[] first = new int[]{3,1,3,2};
+        int[] second = new int[]{4,2,5,4};
+        //When
+        int[] result = bean.union(first, second);
+        //Then
+        assertArrayEquals(new int[]{3,1,2,4,5}, result);
+    }
+
+    @Test
+    public void simpleTestIntersect() {
+        //Given
+        int[] first = new int[]{3,1,3,2,0};
+        int[] second = new int[]{0,2,5,3};
+        //When
+        int[] result = bean.intersect(first, second);
+        //Then
+        assertArrayEquals(new int[]{3,2,0}, result);
+    }
+
+    @Test
+    public void simpleTestDifference() {
+        //Given
+        int[] first = new int[]{3,1,3,2,1,7};
+        int[] second = new int[]{2,5,3};
+        //When
+        int[] result = bean.difference(first, second);
+        //Then
+        assertArrayEquals(new int[]{1,7}, result);
+    }
+
+    @Test
+    public void simpleTestSorted() {
+        //Given
+        int[] first = new int[]{-2,1,1,3,5,8};
+        int[] second = new int[]{1,2,3,3,9};
+        //When
+        //Then
+        assertArrayEquals(new int[]{-2,1,2,3,5,8,9}, bean.unionSorted(first, second));
+        assertArrayEquals(new int[]{1,3}, bean.intersectSorted(first, second));
+        assertArrayEquals(new int[]{-2,5,8}, bean.differenceSorted(first, second));
+    }
+
+    @Test
+    public void skewedRandomTestSorted() {
+        //Given
+        Random random = new Random(17);
+        int[] large = random.ints(100_000, 0, 1_000_000).sorted().toArray();
+        int[] small = random.ints(50, 0, 1_000_000).sorted().toArray();
+        for(int i = 0; i < 20; i++){
+            small[i * 2] = large[random.nextInt(large.length)];
+        }
+        Arrays.sort(small);
+        //When
+        //Then
+        assertArrayEquals(sortedCopy(bean.intersect(small, large)), bean.intersectSorted(small, large));
+        assertArrayEquals(sortedCopy(bean.intersect(small, large)), bean.intersectSorted(large, small));
+        assertArrayEquals(sortedCopy(bean.difference(small, large)), bean.differenceSorted(small, large));
+        assertArrayEquals(sortedCopy(bean.difference(large, small)), bean.differenceSorted(large, small));
+        assertArrayEquals(sortedCopy(bean.union(small, large)), bean.unionSorted(small, large));
+    }
+
+    @Test
+    public void gallopTest() {
+        //Given
+        int[] sorted = new int[]{1,3,3,5,7,9,11,13,15};
+        //When
+        //Then
+        assertEquals(0, ArraysDuplicatesHelper.gallop(sorted, 0, 0));
+        assertEquals(1, ArraysDuplicatesHelper.gallop(sorted, 0, 3));
+        assertEquals(3, ArraysDuplicatesHelper.gallop(sorted, 1, 4));
+        assertEquals(8, ArraysDuplicatesHelper.gallop(sorted, 2, 15));
+        assertEquals(9, ArraysDuplicatesHelper.gallop(sorted, 0, 16));
+        assertEquals(9, ArraysDuplicatesHelper.gallop(sorted, 9, 1));
+    }
+
+    private static int[] sortedCopy(int[] values){
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
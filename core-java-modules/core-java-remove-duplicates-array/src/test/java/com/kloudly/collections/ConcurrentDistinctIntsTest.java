@@ -0,0 +1,119 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentDistinctIntsTest {
+    private static ArraysDuplicatesHelper bean;
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+    }
+
+    @Test
+    public void singleThreadTest() {
+        //Given
+        ConcurrentDistinctInts distinct = new ConcurrentDistinctInts(4);
+        int[] input = new Random(18).ints(50_000, -10_000, 10_000).toArray();
+        //When
+        for(int value : input){
+            distinct.add(value);
+        }
+        //Then
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), distinct.snapshot());
+        assertTrue(distinct.contains(input[0]));
+        assertFalse(distinct.contains(10_000));
+        assertFalse(distinct.add(input[0]));
+    }
+
+    @Test
+    public void manyProducersTest() throws InterruptedException {
+        //Given
+        ConcurrentDistinctInts distinct = new ConcurrentDistinctInts();
+        AtomicInteger reportedNew = new AtomicInteger();
+        int producers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for(int p = 0; p < producers; p++){
+            int seed = p;
+            Thread thread = new Thread(() -> {
+                int[] values = new Random(seed).ints(100_000, 0, 60_000).toArray();
+                try{
+                    start.await();
+                }catch(InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for(int value : values){
+                    if(distinct.add(value))
+                        reportedNew.incrementAndGet();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        //When
+        start.countDown();
+        for(Thread thread : threads){
+            thread.join();
+        }
+        //Then
+        int[] snapshot = distinct.snapshot();
+        assertEquals(reportedNew.get(), snapshot.length);
+        assertEquals(snapshot.length, distinct.size());
+        assertEquals(snapshot.length, Arrays.stream(snapshot).distinct().count());
+        assertEquals(60_000, snapshot.length);
+    }
+
+    @Test
+    public void perThreadOrderTest() throws InterruptedException {
+        //Given producers adding disjoint increasing values
+        ConcurrentDistinctInts distinct = new ConcurrentDistinctInts(16);
+        int producers = 4;
+        int perProducer = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for(int p = 0; p < producers; p++){
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try{
+                    start.await();
+                }catch(InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for(int i = 0; i < perProducer; i++){
+                    distinct.add(i * producers + producer);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        //When
+        start.countDown();
+        for(Thread thread : threads){
+            thread.join();
+        }
+        int[] snapshot = distinct.snapshot();
+        //Then every producer's values come back in the order it added them
+        assertEquals(producers * perProducer, snapshot.length);
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        for(int value : snapshot){
+            assertTrue(value > last[value % producers], "Out of order: " + value);
+            last[value % producers] = value;
+        }
+    }
+}
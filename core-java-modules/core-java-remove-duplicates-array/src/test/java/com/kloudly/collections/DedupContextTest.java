@@ -0,0 +1,94 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DedupContextTest {
+    private static ArraysDuplicatesHelper bean;
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+    }
+
+    @Test
+    public void simpleTestContext() {
+        //Given
+        DedupContext context = new DedupContext();
+        int[] input = new int[]{1,1,2,3,-2,-2};
+        int[] out = new int[input.length];
+        //When
+        int count = context.removeDuplicates(input, out);
+        //Then
+        assertEquals(4, count);
+        assertArrayEquals(new int[]{1,2,3,-2}, Arrays.copyOf(out, count));
+    }
+
+    @Test
+    public void reusedAcrossSizesTestContext() {
+        //Given
+        DedupContext context = new DedupContext();
+        Random random = new Random(14);
+        int[] out = new int[500];
+        //When
+        //Then
+        for(int call = 0; call < 2_000; call++){
+            int[] input = random.ints(10 + random.nextInt(491), -100, 100).toArray();
+            int count = context.removeDuplicates(input, out);
+            assertArrayEquals(bean.removeDuplicatesWithSet(input), Arrays.copyOf(out, count));
+        }
+    }
+
+    @Test
+    public void inPlaceTestContext() {
+        //Given
+        int[] input = new Random(15).ints(300, 0, 50).toArray();
+        int[] expected = bean.removeDuplicatesWithSet(input);
+        //When
+        int count = DedupContext.forCurrentThread().removeDuplicates(input, input);
+        //Then
+        assertArrayEquals(expected, Arrays.copyOf(input, count));
+    }
+
+    @Test
+    public void ownBufferTestContext() {
+        //Given
+        DedupContext context = new DedupContext();
+        int[] input = new int[]{5,5,6,7,7,7,8,9,9,10,11,12,13,14,15,16,17,17};
+        //When
+        int count = context.removeDuplicates(input, input.length);
+        int[] buffer = context.buffer();
+        context.removeDuplicates(input, input.length);
+        //Then
+        assertEquals(13, count);
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), Arrays.copyOf(buffer, count));
+        assertSame(buffer, context.buffer(), "The buffer should be reused!");
+    }
+
+    @Test
+    public void epochWrapAroundTestContext() {
+        //Given
+        DedupContext context = new DedupContext();
+        int[] input = new Random(16).ints(100, 0, 40).toArray();
+        int[] out = new int[input.length];
+        context.removeDuplicates(input, out);
+        context.setEpoch(-1);
+        //When
+        int count = context.removeDuplicates(input, out);
+        //Then
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), Arrays.copyOf(out, count));
+    }
+
+    @Test
+    public void outputTooSmallTestContext() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DedupContext().removeDuplicates(new int[]{1,2,3}, new int[2]));
+    }
+}
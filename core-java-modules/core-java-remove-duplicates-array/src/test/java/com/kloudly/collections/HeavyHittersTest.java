@@ -0,0 +1,73 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HeavyHittersTest {
+
+    @Test
+    public void exactWhenEnoughCountersTest() {
+        //Given
+        HeavyHitters heavyHitters = new HeavyHitters(10);
+        //When
+        heavyHitters.offer(new int[]{4,4,4,7,7,1,4,7,0});
+        //Then
+        List<HeavyHitters.Entry> top = heavyHitters.top(2);
+        assertEquals(2, top.size());
+        assertEquals(4, top.get(0).getValue());
+        assertEquals(4, top.get(0).getCount());
+        assertEquals(7, top.get(1).getValue());
+        assertEquals(3, top.get(1).getCount());
+        assertEquals(0, top.get(1).getError());
+        assertEquals(9, heavyHitters.total());
+    }
+
+    @Test
+    public void skewedStreamTest() {
+        //Given a stream where values 0 to 4 make most of the traffic
+        Random random = new Random(21);
+        HeavyHitters heavyHitters = new HeavyHitters(50);
+        IntCountMap exact = new IntCountMap();
+        //When
+        for(int i = 0; i < 200_000; i++){
+            int value = random.nextInt(10) < 6 ? random.nextInt(5) : 1_000 + random.nextInt(100_000);
+            heavyHitters.offer(value);
+            exact.increment(value);
+        }
+        //Then
+        List<HeavyHitters.Entry> top = heavyHitters.top(5);
+        long bound = heavyHitters.total() / 50;
+        for(HeavyHitters.Entry entry : top){
+            assertTrue(entry.getValue() < 5, "Unexpected heavy hitter : " + entry);
+            long trueCount = exact.count(entry.getValue());
+            assertTrue(entry.getCount() >= trueCount && entry.getCount() - trueCount <= bound, entry.toString());
+            assertTrue(entry.getGuaranteedCount() <= trueCount, entry.toString());
+        }
+    }
+
+    @Test
+    public void evictsLeastFrequentTest() {
+        //Given
+        HeavyHitters heavyHitters = new HeavyHitters(2);
+        //When
+        heavyHitters.offer(new int[]{5,5,5,6,6,9});
+        //Then 6 was the least frequent counter and 9 took it over
+        List<HeavyHitters.Entry> top = heavyHitters.top(2);
+        assertEquals(5, top.get(0).getValue());
+        assertEquals(3, top.get(0).getCount());
+        assertEquals(9, top.get(1).getValue());
+        assertEquals(3, top.get(1).getCount());
+        assertEquals(2, top.get(1).getError());
+    }
+
+    @Test
+    public void invalidCapacityTest() {
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters(0));
+    }
+}
@@ -0,0 +1,75 @@
+package com.kloudly.collections;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntDeduplicatorTest {
+    private static ArraysDuplicatesHelper bean;
+    @TempDir
+    Path spillDirectory;
+
+    @BeforeAll
+    static void setUp(){
+        bean = new ArraysDuplicatesHelper();
+    }
+
+    @Test
+    public void inMemoryTest() throws IOException {
+        //Given
+        IntStream.Builder output = IntStream.builder();
+        int[] input = new int[]{1,1,2,3,-2,-2};
+        //When
+        try(IntDeduplicator deduplicator = new IntDeduplicator(output::add, 100, spillDirectory)){
+            deduplicator.accept(input, 0, 3);
+            deduplicator.accept(input, 3, 3);
+            deduplicator.finish();
+            assertFalse(deduplicator.hasSpilled());
+        }
+        //Then
+        assertArrayEquals(new int[]{1,2,3,-2}, output.build().toArray());
+    }
+
+    @Test
+    public void spillTest() throws IOException {
+        //Given
+        IntStream.Builder output = IntStream.builder();
+        int[] input = new Random(3).ints(200_000, -20_000, 20_000).toArray();
+        //When
+        try(IntDeduplicator deduplicator = new IntDeduplicator(output::add, 50, spillDirectory)){
+            for(int off = 0; off < input.length; off += 1_000){
+                deduplicator.accept(input, off, Math.min(1_000, input.length - off));
+            }
+            deduplicator.finish();
+            assertTrue(deduplicator.hasSpilled());
+        }
+        //Then
+        assertArrayEquals(bean.removeDuplicatesWithSet(input), output.build().toArray());
+        try(Stream<Path> leftovers = Files.list(spillDirectory)){
+            assertEquals(0, leftovers.count(), "Spill files were not deleted!");
+        }
+    }
+
+    @Test
+    public void acceptAfterFinishTest() throws IOException {
+        //Given
+        IntDeduplicator deduplicator = new IntDeduplicator(value -> {}, 10, spillDirectory);
+        //When
+        deduplicator.finish();
+        //Then
+        assertThrows(IllegalStateException.class, () -> deduplicator.accept(new int[]{1}, 0, 1));
+    }
+}
@@ -0,0 +1,256 @@
+package com.kloudly.spotbugs;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A read-only schedule of flights stored column by column: the departure
+ * and arrival times of all flights are two long[] of epoch milliseconds
+ * instead of one object with two Date or LocalDateTime per flight.
+ * <p>
+ * Nothing mutable is exposed, so there is nothing to copy defensively as in
+ * FlightV2: flights are read through FlightView, a flyweight that can be
+ * moved from flight to flight, and the times are returned as primitives or
+ * immutable Instants.
+ * <p>
+ * A flight is identified by its insertion order in the Builder. The flights
+ * are also indexed by departure time, which makes range queries such as
+ * {@link #departuresBetween(long, long)} two binary searches.
+ */
+public final class FlightTable {
+    private final long[] departures;
+    private final long[] arrivals;
+    //the flights sorted by departure time, then by insertion order
+    private final int[] byDeparture;
+
+    private FlightTable(long[] departures, long[] arrivals){
+        this.departures = departures;
+        this.arrivals = arrivals;
+        this.byDeparture = sortByDeparture(departures);
+    }
+
+    public static Builder builder(){
+        return new Builder(16);
+    }
+
+    public static Builder builder(int expectedSize){
+        return new Builder(expectedSize);
+    }
+
+    public int size(){
+        return departures.length;
+    }
+
+    public long getDepartureMillis(int flight){
+        return departures[flight];
+    }
+
+    public long getArrivalMillis(int flight){
+        return arrivals[flight];
+    }
+
+    /**
+     * @return a new view on the given flight
+     */
+    public FlightView view(int flight){
+        return new FlightView(this).moveTo(flight);
+    }
+
+    /**
+     * @return the flights departing at or after fromMillis and strictly
+     * before toMillis, by departure time
+     */
+    public DepartureRange departuresBetween(long fromMillis, long toMillis){
+        int from = firstDepartureAtOrAfter(fromMillis);
+        int to = Math.max(from, firstDepartureAtOrAfter(toMillis));
+        return new DepartureRange(from, to);
+    }
+
+    public DepartureRange departuresBetween(Instant from, Instant to){
+        return departuresBetween(from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * @return the position in the departure index of the first flight
+     * departing at or after millis, size() if there is none
+     */
+    private int firstDepartureAtOrAfter(long millis){
+        int low = 0;
+        int high = byDeparture.length;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(departures[byDeparture[middle]] < millis)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * A stable merge sort of the flights on their departure time, without
+     * boxing. Runs already in order are not merged again, so a schedule
+     * built in departure order is indexed in linear time.
+     */
+    private static int[] sortByDeparture(long[] departures){
+        int[] index = new int[departures.length];
+        for(int i = 0; i < index.length; i++){
+            index[i] = i;
+        }
+        mergeSort(departures, index, new int[index.length], 0, index.length);
+        return index;
+    }
+
+    private static void mergeSort(long[] keys, int[] index, int[] buffer, int from, int to){
+        if(to - from < 2)
+            return;
+        int middle = (from + to) >>> 1;
+        mergeSort(keys, index, buffer, from, middle);
+        mergeSort(keys, index, buffer, middle, to);
+        if(keys[index[middle - 1]] <= keys[index[middle]])
+            return;
+        System.arraycopy(index, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for(int i = from; i < to; i++){
+            if(right == to || (left < middle && keys[buffer[left]] <= keys[buffer[right]]))
+                index[i] = buffer[left++];
+            else
+                index[i] = buffer[right++];
+        }
+    }
+
+    /**
+     * A read-only view on one flight of the table at a time.
+     */
+    public static final class FlightView {
+        private final FlightTable table;
+        private int flight;
+
+        private FlightView(FlightTable table){
+            this.table = table;
+        }
+
+        /**
+         * Points this view to another flight of the same table.
+         */
+        public FlightView moveTo(int flight){
+            if(flight < 0 || flight >= table.size())
+                throw new IndexOutOfBoundsException("No flight " + flight + " in a table of " + table.size());
+            this.flight = flight;
+            return this;
+        }
+
+        public int getFlight(){
+            return flight;
+        }
+
+        public long getDepartureMillis(){
+            return table.departures[flight];
+        }
+
+        public long getArrivalMillis(){
+            return table.arrivals[flight];
+        }
+
+        public long getDurationMillis(){
+            return table.arrivals[flight] - table.departures[flight];
+        }
+
+        public Instant getDepartureTime(){
+            return Instant.ofEpochMilli(getDepartureMillis());
+        }
+
+        public Instant getArrivalTime(){
+            return Instant.ofEpochMilli(getArrivalMillis());
+        }
+
+        @Override
+        public String toString(){
+            return "Flight " + flight + " : " + getDepartureTime() + " -> " + getArrivalTime();
+        }
+    }
+
+    /**
+     * A run of consecutive flights of the departure index.
+     */
+    public final class DepartureRange {
+        private final int from;
+        private final int to;
+
+        private DepartureRange(int from, int to){
+            this.from = from;
+            this.to = to;
+        }
+
+        public int size(){
+            return to - from;
+        }
+
+        public boolean isEmpty(){
+            return from == to;
+        }
+
+        /**
+         * @return the k-th flight of the range, by departure time
+         */
+        public int getFlight(int k){
+            if(k < 0 || k >= size())
+                throw new IndexOutOfBoundsException("No flight " + k + " in a range of " + size());
+            return byDeparture[from + k];
+        }
+
+        /**
+         * Calls action with a single view moved along the range: the view
+         * must not be kept after the call.
+         */
+        public void forEach(Consumer<? super FlightView> action){
+            FlightView view = new FlightView(FlightTable.this);
+            for(int i = from; i < to; i++){
+                view.flight = byDeparture[i];
+                action.accept(view);
+            }
+        }
+    }
+
+    /**
+     * Collects the flights of a table, growing its columns as needed.
+     */
+    public static final class Builder {
+        private long[] departures;
+        private long[] arrivals;
+        private int size;
+
+        private Builder(int expectedSize){
+            if(expectedSize < 0)
+                throw new IllegalArgumentException("Expected size must not be negative : " + expectedSize);
+            this.departures = new long[expectedSize];
+            this.arrivals = new long[expectedSize];
+        }
+
+        /**
+         * @return the identifier of the added flight
+         */
+        public int add(long departureMillis, long arrivalMillis){
+            if(arrivalMillis < departureMillis)
+                throw new IllegalArgumentException("Arrival must not be before departure!");
+            if(size == departures.length){
+                int capacity = Math.max(16, size + (size >> 1));
+                departures = Arrays.copyOf(departures, capacity);
+                arrivals = Arrays.copyOf(arrivals, capacity);
+            }
+            departures[size] = departureMillis;
+            arrivals[size] = arrivalMillis;
+            return size++;
+        }
+
+        public int add(Instant departure, Instant arrival){
+            return add(departure.toEpochMilli(), arrival.toEpochMilli());
+        }
+
+        public FlightTable build(){
+            return new FlightTable(Arrays.copyOf(departures, size), Arrays.copyOf(arrivals, size));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.kloudly.spotbugs;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class FlightTableTest {
+    private static FlightTable table;
+    @BeforeAll
+    static void setUp(){
+        FlightTable.Builder builder = FlightTable.builder();
+        builder.add(300, 400);
+        builder.add(100, 250);
+        builder.add(200, 200);
+        builder.add(100, 150);
+        builder.add(Instant.ofEpochMilli(500), Instant.ofEpochMilli(900));
+        table = builder.build();
+    }
+    @Test
+    void columns(){
+        Assertions.assertEquals(5, table.size());
+        Assertions.assertEquals(300, table.getDepartureMillis(0));
+        Assertions.assertEquals(250, table.getArrivalMillis(1));
+        FlightTable.FlightView view = table.view(4);
+        Assertions.assertEquals(Instant.ofEpochMilli(500), view.getDepartureTime());
+        Assertions.assertEquals(Instant.ofEpochMilli(900), view.getArrivalTime());
+        Assertions.assertEquals(400, view.getDurationMillis());
+        Assertions.assertSame(view, view.moveTo(2));
+        Assertions.assertEquals(2, view.getFlight());
+        Assertions.assertEquals(0, view.getDurationMillis());
+    }
+    @Test
+    void rangeBounds(){
+        //from is included, to is excluded
+        Assertions.assertArrayEquals(new int[]{1, 3, 2}, flights(table.departuresBetween(100, 300)));
+        Assertions.assertArrayEquals(new int[]{2, 0}, flights(table.departuresBetween(200, 301)));
+        Assertions.assertArrayEquals(new int[]{1, 3, 2, 0, 4}, flights(table.departuresBetween(Long.MIN_VALUE, Long.MAX_VALUE)));
+        Assertions.assertArrayEquals(new int[]{4}, flights(table.departuresBetween(Instant.ofEpochMilli(301), Instant.ofEpochMilli(501))));
+        Assertions.assertTrue(table.departuresBetween(200, 200).isEmpty());
+        Assertions.assertTrue(table.departuresBetween(300, 100).isEmpty());
+        Assertions.assertTrue(table.departuresBetween(501, 1000).isEmpty());
+        Assertions.assertTrue(table.departuresBetween(0, 100).isEmpty());
+    }
+    @Test
+    void unsortedInputAgainstBruteForce(){
+        Random random = new Random(25);
+        int n = 20_000;
+        long[] departures = new long[n];
+        FlightTable.Builder builder = FlightTable.builder(0);
+        for(int i = 0; i < n; i++){
+            departures[i] = random.nextInt(100_000);
+            Assertions.assertEquals(i, builder.add(departures[i], departures[i] + random.nextInt(1000)));
+        }
+        FlightTable flights = builder.build();
+        for(int query = 0; query < 200; query++){
+            long from = random.nextInt(110_000) - 5_000;
+            long to = from + random.nextInt(4_000) - 500;
+            List<Integer> expected = new ArrayList<>();
+            for(int i = 0; i < n; i++){
+                if(departures[i] >= from && departures[i] < to)
+                    expected.add(i);
+            }
+            expected.sort(Comparator.<Integer>comparingLong(i -> departures[i]).thenComparingInt(i -> i));
+            FlightTable.DepartureRange range = flights.departuresBetween(from, to);
+            List<Integer> result = new ArrayList<>();
+            range.forEach(view -> result.add(view.getFlight()));
+            Assertions.assertEquals(expected, result);
+            Assertions.assertEquals(expected.size(), range.size());
+            for(int k = 0; k < range.size(); k++){
+                Assertions.assertEquals(expected.get(k), range.getFlight(k));
+            }
+        }
+    }
+    @Test
+    void outOfBounds(){
+        FlightTable.FlightView view = table.view(0);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> view.moveTo(5));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> view.moveTo(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> table.view(5));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> table.departuresBetween(100, 300).getFlight(3));
+        Assertions.assertTrue(FlightTable.builder().build().departuresBetween(0, 10).isEmpty());
+    }
+    @Test
+    void arrivalBeforeDeparture(){
+        FlightTable.Builder builder = FlightTable.builder();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.add(200, 199));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FlightTable.builder(-1));
+        Assertions.assertEquals(0, builder.build().size());
+    }
+    private static int[] flights(FlightTable.DepartureRange range){
+        int[] flights = new int[range.size()];
+        for(int k = 0; k < flights.length; k++){
+            flights[k] = range.getFlight(k);
+        }
+        return flights;
+    }
+}
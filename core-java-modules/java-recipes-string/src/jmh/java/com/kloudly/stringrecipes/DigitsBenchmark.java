@@ -0,0 +1,59 @@
+package com.kloudly.stringrecipes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the digit checks of StringRecipes on strings made of digits only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DigitsBenchmark {
+    @Param({"16", "1024", "65536"})
+    private int length;
+
+    @Param({"ASCII", "NON_LATIN1"})
+    private StringInputs.CharMix charMix;
+
+    private StringRecipes bean;
+    private DigitValidator validator;
+    private String input;
+
+    @Setup
+    public void setUp(){
+        bean = new StringRecipes();
+        validator = DigitValidator.swar();
+        input = StringInputs.digits(length, charMix, 42);
+    }
+
+    @Benchmark
+    public boolean containsOnlyDigitsLoop(){
+        return bean.containsOnlyDigitsLoop(input);
+    }
+
+    @Benchmark
+    public boolean containsOnlyDigitsStream(){
+        return bean.containsOnlyDigitsStream(input);
+    }
+
+    //ASCII digits only: NON_LATIN1 input is rejected on its first 4 chars
+    @Benchmark
+    public boolean swarContainsOnlyDigits(){
+        return validator.containsOnlyDigits(input);
+    }
+}
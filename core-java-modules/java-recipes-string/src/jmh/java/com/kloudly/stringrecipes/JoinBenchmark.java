@@ -0,0 +1,76 @@
+package com.kloudly.stringrecipes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the join recipes of StringRecipes against ExactSizeJoiner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JoinBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int count;
+
+    @Param({"8", "64"})
+    private int length;
+
+    @Param({"ASCII", "NON_LATIN1"})
+    private StringInputs.CharMix charMix;
+
+    private StringRecipes bean;
+    private ExactSizeJoiner joiner;
+    private String[] input;
+
+    @Setup
+    public void setUp(){
+        bean = new StringRecipes();
+        joiner = new ExactSizeJoiner(",");
+        input = StringInputs.words(count, length, charMix, 42);
+    }
+
+    @Benchmark
+    public String joinWithStringBuilder(){
+        return bean.joinWithStringBuilder(input);
+    }
+
+    @Benchmark
+    public String joinWithStringJoin(){
+        return bean.joinWithStringJoin(input);
+    }
+
+    @Benchmark
+    public String joinWithStringJoiner(){
+        return bean.joinWithStringJoiner(input);
+    }
+
+    @Benchmark
+    public String joinWithStream(){
+        return bean.joinWithStream(input);
+    }
+
+    @Benchmark
+    public char[] exactSizeJoinToChars(){
+        return joiner.joinToChars(input);
+    }
+
+    @Benchmark
+    public byte[] exactSizeJoinToUtf8(){
+        return joiner.joinToUtf8(input);
+    }
+}
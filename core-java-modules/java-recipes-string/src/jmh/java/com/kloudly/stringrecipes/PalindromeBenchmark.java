@@ -0,0 +1,59 @@
+package com.kloudly.stringrecipes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the palindrome checks on strings that are palindromes, the
+ * worst case where every pair of characters is compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PalindromeBenchmark {
+    @Param({"16", "1024", "65536"})
+    private int length;
+
+    @Param({"ASCII", "NON_LATIN1"})
+    private StringInputs.CharMix charMix;
+
+    private StringRecipes bean;
+    private PalindromeEngine engine;
+    private String input;
+
+    @Setup
+    public void setUp(){
+        bean = new StringRecipes();
+        engine = new PalindromeEngine();
+        input = StringInputs.palindrome(length, charMix, 42);
+    }
+
+    @Benchmark
+    public boolean isPalindrome(){
+        return bean.isPalindrome(input);
+    }
+
+    @Benchmark
+    public boolean engineIsPalindrome(){
+        return engine.isPalindrome(input);
+    }
+
+    @Benchmark
+    public long engineCountPalindromicSubstrings(){
+        return engine.countPalindromicSubstrings(input);
+    }
+}
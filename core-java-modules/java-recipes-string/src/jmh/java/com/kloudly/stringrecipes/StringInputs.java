@@ -0,0 +1,73 @@
+package com.kloudly.stringrecipes;
+
+import java.util.Random;
+
+/**
+ * Generates the input strings of the string recipes benchmarks.
+ */
+public final class StringInputs {
+
+    public enum CharMix {
+        //only ASCII characters: the strings are stored in their compact Latin-1 form
+        ASCII,
+        //every other character is outside Latin-1: the strings are stored in UTF-16
+        NON_LATIN1
+    }
+
+    //Arabic-Indic digits, accepted by Character.isDigit
+    private static final char NON_LATIN1_ZERO = '\u0660';
+    private static final char NON_LATIN1_LETTER = '\u0430';
+
+    private StringInputs(){
+    }
+
+    /**
+     * @return a string of length digits, ending with a digit so that the
+     * digit checks scan it entirely
+     */
+    public static String digits(int length, CharMix mix, long seed){
+        Random random = new Random(seed);
+        char[] chars = new char[length];
+        for(int i = 0; i < length; i++){
+            char zero = mix == CharMix.NON_LATIN1 && i % 2 == 1 ? NON_LATIN1_ZERO : '0';
+            chars[i] = (char) (zero + random.nextInt(10));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return a palindrome of the given length, so that the checks scan it entirely
+     */
+    public static String palindrome(int length, CharMix mix, long seed){
+        String word = word(length, mix, seed);
+        char[] chars = word.toCharArray();
+        for(int i = 0, j = length - 1; i < j; i++, j--){
+            chars[j] = chars[i];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return a random word of the given length
+     */
+    public static String word(int length, CharMix mix, long seed){
+        Random random = new Random(seed);
+        char[] chars = new char[length];
+        for(int i = 0; i < length; i++){
+            char first = mix == CharMix.NON_LATIN1 && i % 2 == 1 ? NON_LATIN1_LETTER : 'a';
+            chars[i] = (char) (first + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return count random words of the given length
+     */
+    public static String[] words(int count, int length, CharMix mix, long seed){
+        String[] words = new String[count];
+        for(int i = 0; i < count; i++){
+            words[i] = word(length, mix, seed + i);
+        }
+        return words;
+    }
+}
@@ -0,0 +1,145 @@
+package com.kloudly.stringrecipes;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Replaces characters according to a mapping built once, like the tr
+ * command: several characters switched to upper case, or any char to char
+ * replacement. The whole mapping is applied in a single pass, each char
+ * being looked up in a table that covers the chars up to the highest mapped
+ * one. A CharTranslator is immutable and can be shared between threads.
+ */
+public final class CharTranslator {
+    private final char[] table;
+
+    private CharTranslator(char[] table){
+        this.table = table;
+    }
+
+    /**
+     * @return the translator switching every given char to upper case, the
+     * generalization of StringRecipes.switchCharacterToUpperCase
+     */
+    public static CharTranslator toUpperCase(char... chars){
+        char[] to = new char[chars.length];
+        for(int i = 0; i < chars.length; i++){
+            to[i] = Character.toUpperCase(chars[i]);
+        }
+        return of(new String(chars), new String(to));
+    }
+
+    /**
+     * @return the translator replacing from.charAt(i) by to.charAt(i)
+     */
+    public static CharTranslator of(CharSequence from, CharSequence to){
+        if(from.length() != to.length())
+            throw new IllegalArgumentException("Both sequences must have the same length!");
+        int max = -1;
+        for(int i = 0; i < from.length(); i++){
+            max = Math.max(max, from.charAt(i));
+        }
+        char[] table = identity(max + 1);
+        BitSet mapped = new BitSet(max + 1);
+        for(int i = 0; i < from.length(); i++){
+            map(table, mapped, from.charAt(i), to.charAt(i));
+        }
+        return new CharTranslator(table);
+    }
+
+    /**
+     * @return the translator replacing every key of mapping by its value
+     */
+    public static CharTranslator of(Map<Character, Character> mapping){
+        int max = -1;
+        for(char c : mapping.keySet()){
+            max = Math.max(max, c);
+        }
+        char[] table = identity(max + 1);
+        BitSet mapped = new BitSet(max + 1);
+        mapping.forEach((from, to) -> map(table, mapped, from, to));
+        return new CharTranslator(table);
+    }
+
+    public char translate(char c){
+        return c < table.length ? table[c] : c;
+    }
+
+    /**
+     * @return the translated input, or input itself when no char of it is
+     * replaced
+     */
+    public String translate(String input){
+        int length = input.length();
+        int first = firstChange(input, 0, length);
+        if(first == length)
+            return input;
+        char[] result = new char[length];
+        input.getChars(0, first, result, 0);
+        for(int i = first; i < length; i++){
+            result[i] = translate(input.charAt(i));
+        }
+        return new String(result);
+    }
+
+    /**
+     * Writes the translated input into out, starting at offset.
+     *
+     * @return the offset after the last written char
+     */
+    public int translate(CharSequence input, char[] out, int offset){
+        int length = input.length();
+        if(offset < 0 || offset > out.length - length)
+            throw new IndexOutOfBoundsException("Not enough room for " + length + " chars at " + offset);
+        for(int i = 0; i < length; i++){
+            out[offset + i] = translate(input.charAt(i));
+        }
+        return offset + length;
+    }
+
+    /**
+     * Appends the translated input to out: the runs of unchanged chars are
+     * appended as slices of input, the replaced chars one by one.
+     */
+    public void translate(CharSequence input, Appendable out) throws IOException {
+        int length = input.length();
+        int start = 0;
+        while(start < length){
+            int change = firstChange(input, start, length);
+            if(change > start)
+                out.append(input, start, change);
+            if(change < length)
+                out.append(translate(input.charAt(change)));
+            start = change + 1;
+        }
+    }
+
+    private int firstChange(CharSequence input, int from, int to){
+        for(int i = from; i < to; i++){
+            char c = input.charAt(i);
+            if(c < table.length && table[c] != c)
+                return i;
+        }
+        return to;
+    }
+
+    private static char[] identity(int length){
+        char[] table = new char[length];
+        for(int c = 0; c < length; c++){
+            table[c] = (char) c;
+        }
+        return table;
+    }
+
+    /**
+     * @param mapped : the chars given a replacement so far, identity ones
+     * included, which the table alone cannot tell from unmapped chars
+     */
+    private static void map(char[] table, BitSet mapped, char from, char to){
+        if(mapped.get(from) && table[from] != to)
+            throw new IllegalArgumentException("Conflicting replacements for " + from);
+        mapped.set(from);
+        table[from] = to;
+    }
+}
@@ -0,0 +1,145 @@
+package com.kloudly.stringrecipes;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Streams the tree of StringRecipes.buildChristmasTree to a sink instead of
+ * building it as one String, so the memory used stays proportional to the
+ * height, not to the size of the tree.
+ * <p>
+ * The rows are sliced out of a single precomputed line laid out as
+ * <pre>[padding spaces][stars][padding spaces]\n</pre>
+ * Row i is written as two bulk slices: its left padding and stars from the
+ * start of the line, then its right padding (and new line) from the end.
+ */
+public class ChristmasTreeRenderer {
+    static final int STAGING_BYTES = 8192;
+
+    private final int height;
+    private final int maxPadding;
+    private final char[] line;
+    private final byte[] lineBytes;
+
+    /**
+     * @param height : the same height as for StringRecipes.buildChristmasTree
+     */
+    public ChristmasTreeRenderer(int height){
+        if(height < 0)
+            throw new IllegalArgumentException("Height must not be negative!");
+        this.height = height;
+        this.maxPadding = height > 0 ? (height - 1) / 2 : 0;
+        int stars = height > 0 ? height - ((height - 1) & 1) : 0;
+        this.line = new char[2 * maxPadding + stars + 1];
+        for(int i = 0; i < line.length - 1; i++){
+            line[i] = i >= maxPadding && i < maxPadding + stars ? '*' : ' ';
+        }
+        line[line.length - 1] = '\n';
+        this.lineBytes = new byte[line.length];
+        for(int i = 0; i < line.length; i++){
+            lineBytes[i] = (byte) line[i];
+        }
+    }
+
+    /**
+     * @return the number of characters of the tree
+     */
+    public long length(){
+        long length = 0;
+        for(int i = 1; i <= height; i += 2){
+            length += 2L * padding(i) + i + (i < height ? 1 : 0);
+        }
+        return length;
+    }
+
+    /**
+     * StringBuilder and Writer sinks get bulk array copies; any other
+     * Appendable gets the slices as CharSequence views.
+     */
+    public void renderTo(Appendable out) throws IOException {
+        if(out instanceof StringBuilder){
+            renderTo((StringBuilder) out);
+            return;
+        }
+        if(out instanceof Writer){
+            renderTo((Writer) out);
+            return;
+        }
+        CharSequence view = CharBuffer.wrap(line);
+        for(int i = 1; i <= height; i += 2){
+            int padding = padding(i);
+            out.append(view, maxPadding - padding, maxPadding + i);
+            out.append(view, line.length - 1 - padding, endOfRow(i));
+        }
+    }
+
+    public void renderTo(StringBuilder out){
+        long length = length();
+        if(out.length() + length <= Integer.MAX_VALUE)
+            out.ensureCapacity(out.length() + (int) length);
+        for(int i = 1; i <= height; i += 2){
+            int padding = padding(i);
+            out.append(line, maxPadding - padding, padding + i);
+            int from = line.length - 1 - padding;
+            out.append(line, from, endOfRow(i) - from);
+        }
+    }
+
+    public void renderTo(Writer out) throws IOException {
+        for(int i = 1; i <= height; i += 2){
+            int padding = padding(i);
+            out.write(line, maxPadding - padding, padding + i);
+            int from = line.length - 1 - padding;
+            out.write(line, from, endOfRow(i) - from);
+        }
+    }
+
+    /**
+     * Writes the tree as ASCII bytes. The rows are staged in a small buffer
+     * that is handed to the channel whenever it is full.
+     */
+    public void renderTo(WritableByteChannel out) throws IOException {
+        ByteBuffer staging = ByteBuffer.allocate((int) Math.min(STAGING_BYTES, Math.max(1L, length())));
+        for(int i = 1; i <= height; i += 2){
+            int padding = padding(i);
+            put(out, staging, maxPadding - padding, padding + i);
+            int from = lineBytes.length - 1 - padding;
+            put(out, staging, from, endOfRow(i) - from);
+        }
+        flush(out, staging);
+    }
+
+    private int padding(int stars){
+        return (height - stars) / 2;
+    }
+
+    /**
+     * @return the end of the right padding slice, with the new line unless
+     * the row is the last one
+     */
+    private int endOfRow(int stars){
+        return stars < height ? line.length : line.length - 1;
+    }
+
+    private void put(WritableByteChannel out, ByteBuffer staging, int offset, int length) throws IOException {
+        while(length > 0){
+            if(!staging.hasRemaining())
+                flush(out, staging);
+            int chunk = Math.min(length, staging.remaining());
+            staging.put(lineBytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    private static void flush(WritableByteChannel out, ByteBuffer staging) throws IOException {
+        staging.flip();
+        while(staging.hasRemaining()){
+            out.write(staging);
+        }
+        staging.clear();
+    }
+}
@@ -0,0 +1,225 @@
+package com.kloudly.stringrecipes;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+
+/**
+ * Checks that ASCII/Latin-1 input only contains the digits '0' to '9',
+ * without copying it.
+ * <p>
+ * Bytes are checked 8 at a time with SWAR arithmetic on long words: a byte
+ * is a digit when its high nibble is 3 and adding 6 to it keeps that nibble
+ * at 3. Chars are checked 4 at a time the same way, on 16-bit lanes, so any
+ * char outside Latin-1 is rejected. Unlike Character.isDigit, digits of
+ * other scripts are rejected too. As with containsOnlyDigitsLoop, empty
+ * input is valid.
+ * <p>
+ * When the validator is built by {@link #vectorIfAvailable()} and the
+ * jdk.incubator.vector module is present, byte input goes through the
+ * Vector API instead (see the vector profile of the pom).
+ */
+public class DigitValidator {
+    static final String VECTOR_KERNEL = "com.kloudly.stringrecipes.VectorDigitKernel";
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+    private static final long THREES = 0x3030303030303030L;
+    private static final long SIXES = 0x0606060606060606L;
+    private static final long HIGH_CHAR_BITS = 0xFFF0FFF0FFF0FFF0L;
+    private static final long CHAR_THREES = 0x0030003000300030L;
+    private static final long CHAR_SIXES = 0x0006000600060006L;
+
+    private static final DigitValidator SWAR = new DigitValidator(new SwarKernel());
+
+    private final DigitKernel kernel;
+
+    DigitValidator(DigitKernel kernel){
+        this.kernel = kernel;
+    }
+
+    /**
+     * @return the validator working on long words
+     */
+    public static DigitValidator swar(){
+        return SWAR;
+    }
+
+    /**
+     * @return a validator using the Vector API for byte input when it is
+     * available, the SWAR validator otherwise
+     */
+    public static DigitValidator vectorIfAvailable(){
+        if(ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty())
+            return SWAR;
+        try{
+            DigitKernel kernel = (DigitKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            return new DigitValidator(kernel);
+        }catch(ReflectiveOperationException | LinkageError e){
+            return SWAR;
+        }
+    }
+
+    /**
+     * @return true when byte input is checked with the Vector API
+     */
+    public boolean isVectorized(){
+        return !(kernel instanceof SwarKernel);
+    }
+
+    public boolean containsOnlyDigits(CharSequence input){
+        int length = input.length();
+        int i = 0;
+        for(; i + 4 <= length; i += 4){
+            long word = input.charAt(i)
+                    | (long) input.charAt(i + 1) << 16
+                    | (long) input.charAt(i + 2) << 32
+                    | (long) input.charAt(i + 3) << 48;
+            if(!areDigitChars(word))
+                return false;
+        }
+        for(; i < length; i++){
+            if(!isDigit(input.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    public boolean containsOnlyDigits(byte[] input){
+        return containsOnlyDigits(input, 0, input.length);
+    }
+
+    public boolean containsOnlyDigits(byte[] input, int offset, int length){
+        checkRange(offset, length, input.length);
+        return kernel.containsOnlyDigits(input, offset, offset + length);
+    }
+
+    /**
+     * Checks the bytes between the position and the limit of input, without
+     * moving its position.
+     */
+    public boolean containsOnlyDigits(ByteBuffer input){
+        return containsOnlyDigits(input, input.position(), input.remaining());
+    }
+
+    /**
+     * Checks length bytes of input starting at the absolute index offset.
+     */
+    public boolean containsOnlyDigits(ByteBuffer input, int offset, int length){
+        checkRange(offset, length, input.limit());
+        return kernel.containsOnlyDigits(input, offset, offset + length);
+    }
+
+    /**
+     * Validates one column of CSV rows in one call. Rows end with "\n" or
+     * "\r\n" and fields are separated by an ASCII delimiter, without
+     * quoting. An empty or missing field is invalid.
+     *
+     * @param csv : the rows between the position and the limit, the position
+     * is not moved
+     * @param column : the index of the column, from 0
+     * @return the indexes of the rows whose field is not made of digits only,
+     * empty when the whole column is valid
+     */
+    public BitSet validateColumn(ByteBuffer csv, int column, char delimiter){
+        if(column < 0)
+            throw new IllegalArgumentException("Column must not be negative!");
+        byte separator = (byte) delimiter;
+        BitSet invalidRows = new BitSet();
+        int limit = csv.limit();
+        int row = 0;
+        for(int i = csv.position(); i < limit; row++){
+            //1. move to the start of the field
+            int field = 0;
+            while(field < column && i < limit){
+                byte b = csv.get(i);
+                if(b == '\n')
+                    break;
+                i++;
+                if(b == separator)
+                    field++;
+            }
+            boolean valid = false;
+            if(field == column){
+                int start = i;
+                while(i < limit && csv.get(i) != separator && csv.get(i) != '\n'){
+                    i++;
+                }
+                boolean endOfRow = i == limit || csv.get(i) == '\n';
+                int end = endOfRow && i > start && csv.get(i - 1) == '\r' ? i - 1 : i;
+                valid = end > start && kernel.containsOnlyDigits(csv, start, end);
+            }
+            if(!valid)
+                invalidRows.set(row);
+            //2. move to the start of the next row
+            while(i < limit && csv.get(i++) != '\n'){
+                //skip the other fields of the row
+            }
+        }
+        return invalidRows;
+    }
+
+    static boolean isDigit(int c){
+        return (char) (c - '0') <= 9;
+    }
+
+    /**
+     * @return true when the 8 bytes of word are ASCII digits
+     */
+    static boolean areDigits(long word){
+        return (((word & HIGH_NIBBLES) ^ THREES) | (((word + SIXES) & HIGH_NIBBLES) ^ THREES)) == 0;
+    }
+
+    /**
+     * @return true when the 4 chars of word are ASCII digits
+     */
+    static boolean areDigitChars(long word){
+        return (((word & HIGH_CHAR_BITS) ^ CHAR_THREES) | (((word + CHAR_SIXES) & HIGH_CHAR_BITS) ^ CHAR_THREES)) == 0;
+    }
+
+    private static void checkRange(int offset, int length, int size){
+        if(offset < 0 || length < 0 || offset > size - length)
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + size);
+    }
+
+    /**
+     * Checks the bytes in [from, to) of an array or a buffer.
+     */
+    interface DigitKernel {
+        boolean containsOnlyDigits(byte[] input, int from, int to);
+
+        boolean containsOnlyDigits(ByteBuffer input, int from, int to);
+    }
+
+    static final class SwarKernel implements DigitKernel {
+        @Override
+        public boolean containsOnlyDigits(byte[] input, int from, int to){
+            int i = from;
+            for(; i + Long.BYTES <= to; i += Long.BYTES){
+                if(!areDigits((long) LONGS.get(input, i)))
+                    return false;
+            }
+            for(; i < to; i++){
+                if(!isDigit(input[i]))
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean containsOnlyDigits(ByteBuffer input, int from, int to){
+            int i = from;
+            for(; i + Long.BYTES <= to; i += Long.BYTES){
+                if(!areDigits(input.getLong(i)))
+                    return false;
+            }
+            for(; i < to; i++){
+                if(!isDigit(input.get(i)))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
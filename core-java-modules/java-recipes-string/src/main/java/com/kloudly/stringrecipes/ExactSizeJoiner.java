@@ -0,0 +1,434 @@
+package com.kloudly.stringrecipes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Joins strings like the join recipes of StringRecipes, but measures the
+ * output first and writes it into a single destination of the exact size:
+ * a char[], a UTF-8 byte[], a caller ByteBuffer or an OutputStream. There is
+ * no growing buffer and no intermediate String.
+ * <p>
+ * The parallel variants cut the input in segments, measure the segments
+ * concurrently, turn their lengths into offsets with a prefix sum, then fill
+ * the segments concurrently.
+ * <p>
+ * Null elements are written as "null", like String.join. Unpaired surrogates
+ * are encoded as '?', like String.getBytes. A surrogate pair split between an
+ * element and the next delimiter or element is encoded as one code point, as
+ * it is in the joined String.
+ */
+public class ExactSizeJoiner {
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 14;
+    static final int STAGING_BYTES = 8192;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final String delimiter;
+    private final byte[] utf8Delimiter;
+    private final ForkJoinPool pool;
+    private final int segmentSize;
+
+    public ExactSizeJoiner(CharSequence delimiter){
+        this(delimiter, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool : the pool running the parallel variants
+     */
+    public ExactSizeJoiner(CharSequence delimiter, ForkJoinPool pool){
+        this(delimiter, pool, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param segmentSize : the number of strings handled by one parallel task
+     */
+    ExactSizeJoiner(CharSequence delimiter, ForkJoinPool pool, int segmentSize){
+        if(segmentSize <= 0)
+            throw new IllegalArgumentException("Segment size must be positive!");
+        this.delimiter = delimiter.toString();
+        this.pool = pool;
+        this.segmentSize = segmentSize;
+        this.utf8Delimiter = new byte[(int) utf8Length(this.delimiter)];
+        encode(this.delimiter, 0, utf8Delimiter, 0);
+    }
+
+    /**
+     * @return the number of chars of the joined input
+     */
+    public long length(String[] input){
+        return charLength(input, 0, input.length) + delimiters(input.length, delimiter.length());
+    }
+
+    /**
+     * @return the number of bytes of the joined input encoded in UTF-8
+     */
+    public long utf8Length(String[] input){
+        return utf8Length(input, 0, input.length, false);
+    }
+
+    public char[] joinToChars(String[] input){
+        char[] result = new char[checkedLength(length(input))];
+        fillChars(input, 0, input.length, result, 0);
+        return result;
+    }
+
+    public byte[] joinToUtf8(String[] input){
+        byte[] result = new byte[checkedLength(utf8Length(input))];
+        fillUtf8(input, 0, input.length, false, result, 0);
+        return result;
+    }
+
+    /**
+     * Writes the joined input in UTF-8 at the position of out, and moves
+     * the position after it.
+     *
+     * @throws BufferOverflowException if out has not enough room, before
+     * anything is written
+     */
+    public void joinTo(String[] input, ByteBuffer out){
+        long length = utf8Length(input);
+        if(length > out.remaining())
+            throw new BufferOverflowException();
+        if(out.hasArray()){
+            int start = out.arrayOffset() + out.position();
+            fillUtf8(input, 0, input.length, false, out.array(), start);
+            out.position(out.position() + (int) length);
+            return;
+        }
+        byte[] staging = new byte[STAGING_BYTES];
+        try{
+            stream(input, staging, (bytes, count) -> out.put(bytes, 0, count));
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the joined input in UTF-8 to out, through a fixed size buffer.
+     */
+    public void joinTo(String[] input, OutputStream out) throws IOException {
+        stream(input, new byte[STAGING_BYTES], (bytes, count) -> out.write(bytes, 0, count));
+    }
+
+    /**
+     * Same result as {@link #joinToChars(String[])}, measured and filled
+     * concurrently by segments.
+     */
+    public char[] joinToCharsParallel(String[] input){
+        int segments = segments(input.length);
+        long[] offsets = new long[segments + 1];
+        ParallelChunks.forEach(pool, segments, segment -> {
+            int from = from(segment);
+            int to = to(segment, input.length);
+            offsets[segment + 1] = charLength(input, from, to) + delimiters(to - from, delimiter.length());
+        });
+        char[] result = new char[checkedLength(toOffsets(offsets, delimiter.length()))];
+        ParallelChunks.forEach(pool, segments, segment -> {
+            int offset = (int) offsets[segment];
+            if(segment > 0){
+                delimiter.getChars(0, delimiter.length(), result, offset);
+                offset += delimiter.length();
+            }
+            fillChars(input, from(segment), to(segment, input.length), result, offset);
+        });
+        return result;
+    }
+
+    /**
+     * Same result as {@link #joinToUtf8(String[])}, measured and filled
+     * concurrently by segments.
+     */
+    public byte[] joinToUtf8Parallel(String[] input){
+        int segments = segments(input.length);
+        long[] offsets = new long[segments + 1];
+        ParallelChunks.forEach(pool, segments, segment -> {
+            int from = from(segment);
+            int to = to(segment, input.length);
+            //the leading delimiter is measured with the segment, its bytes depend on the previous one
+            offsets[segment + 1] = utf8Length(input, from, to, segment > 0);
+        });
+        byte[] result = new byte[checkedLength(toOffsets(offsets, 0))];
+        ParallelChunks.forEach(pool, segments, segment ->
+                fillUtf8(input, from(segment), to(segment, input.length), segment > 0, result, (int) offsets[segment]));
+        return result;
+    }
+
+    private int segments(int length){
+        return (int) ((length + (long) segmentSize - 1) / segmentSize);
+    }
+
+    private int from(int segment){
+        return segment * segmentSize;
+    }
+
+    private int to(int segment, int length){
+        return (int) Math.min(length, (long) (segment + 1) * segmentSize);
+    }
+
+    /**
+     * Turns offsets[k + 1] = length of segment k, its inner delimiters
+     * included, into offsets[k] = start of segment k. delimiterLength is
+     * added before every segment but the first, for lengths that leave out
+     * the leading delimiter.
+     *
+     * @return the total length
+     */
+    private static long toOffsets(long[] offsets, int delimiterLength){
+        long position = 0;
+        for(int segment = 0; segment + 1 < offsets.length; segment++){
+            long length = offsets[segment + 1];
+            offsets[segment] = position;
+            position += (segment > 0 ? delimiterLength : 0) + length;
+        }
+        offsets[offsets.length - 1] = position;
+        return position;
+    }
+
+    private static long delimiters(int count, int delimiterLength){
+        return count > 1 ? (long) (count - 1) * delimiterLength : 0;
+    }
+
+    private static int checkedLength(long length){
+        if(length > MAX_ARRAY_LENGTH)
+            throw new IllegalArgumentException("Joined length exceeds the maximum array size : " + length);
+        return (int) length;
+    }
+
+    private static String valueOf(String value){
+        return value == null ? "null" : value;
+    }
+
+    private static long charLength(String[] input, int from, int to){
+        long length = 0;
+        for(int i = from; i < to; i++){
+            length += valueOf(input[i]).length();
+        }
+        return length;
+    }
+
+    /**
+     * @return the number of bytes fillUtf8 writes for the same range
+     */
+    private long utf8Length(String[] input, int from, int to, boolean leadingDelimiter){
+        long length = 0;
+        char last = 0;
+        boolean started = false;
+        for(int i = from; i < to; i++){
+            for(int part = i > from || leadingDelimiter ? 0 : 1; part < 2; part++){
+                String piece = part == 0 ? delimiter : valueOf(input[i]);
+                if(piece.isEmpty())
+                    continue;
+                length += part == 0 ? utf8Delimiter.length : utf8Length(piece);
+                if(Character.isLowSurrogate(piece.charAt(0))
+                        && Character.isHighSurrogate(started ? last : lastCharBefore(input, from))){
+                    //two '?' become a code point, or the previous range writes it
+                    length += started ? 2 : -1;
+                }
+                last = piece.charAt(piece.length() - 1);
+                started = true;
+            }
+        }
+        if(started && Character.isHighSurrogate(last) && Character.isLowSurrogate(firstCharAfter(input, to - 1)))
+            length += 3;
+        return length;
+    }
+
+    /**
+     * @return the last char of the joined input before element i and its
+     * leading delimiter, 0 if there is none
+     */
+    private char lastCharBefore(String[] input, int i){
+        for(int j = i - 1; j >= 0; j--){
+            String value = valueOf(input[j]);
+            if(!value.isEmpty())
+                return value.charAt(value.length() - 1);
+            if(j > 0 && !delimiter.isEmpty())
+                return delimiter.charAt(delimiter.length() - 1);
+        }
+        return 0;
+    }
+
+    /**
+     * @return the first char of the joined input after element i, 0 if there
+     * is none
+     */
+    private char firstCharAfter(String[] input, int i){
+        for(int j = i + 1; j < input.length; j++){
+            if(!delimiter.isEmpty())
+                return delimiter.charAt(0);
+            String value = valueOf(input[j]);
+            if(!value.isEmpty())
+                return value.charAt(0);
+        }
+        return 0;
+    }
+
+    private void fillChars(String[] input, int from, int to, char[] result, int offset){
+        for(int i = from; i < to; i++){
+            if(i > from){
+                delimiter.getChars(0, delimiter.length(), result, offset);
+                offset += delimiter.length();
+            }
+            String value = valueOf(input[i]);
+            value.getChars(0, value.length(), result, offset);
+            offset += value.length();
+        }
+    }
+
+    /**
+     * Encodes the elements [from, to) with their inner delimiters, and the
+     * delimiter before from if leadingDelimiter. Every piece is encoded on its
+     * own, then a high surrogate ending a piece and a low surrogate starting
+     * the next one are rewritten as one code point. A pair straddling two
+     * ranges is written by the first one.
+     */
+    private void fillUtf8(String[] input, int from, int to, boolean leadingDelimiter, byte[] result, int offset){
+        char last = 0;
+        boolean started = false;
+        for(int i = from; i < to; i++){
+            for(int part = i > from || leadingDelimiter ? 0 : 1; part < 2; part++){
+                String piece = part == 0 ? delimiter : valueOf(input[i]);
+                if(piece.isEmpty())
+                    continue;
+                int skip = 0;
+                char head = piece.charAt(0);
+                if(Character.isLowSurrogate(head)){
+                    char before = started ? last : lastCharBefore(input, from);
+                    if(Character.isHighSurrogate(before)){
+                        //overwrites the '?' written for before
+                        if(started)
+                            offset = encodeCodePoint(Character.toCodePoint(before, head), result, offset - 1);
+                        skip = 1;
+                    }
+                }
+                if(part == 0){
+                    //a lone low surrogate heading the delimiter is its first byte
+                    System.arraycopy(utf8Delimiter, skip, result, offset, utf8Delimiter.length - skip);
+                    offset += utf8Delimiter.length - skip;
+                }else{
+                    offset = encode(piece, skip, result, offset);
+                }
+                last = piece.charAt(piece.length() - 1);
+                started = true;
+            }
+        }
+        if(started && Character.isHighSurrogate(last)){
+            char after = firstCharAfter(input, to - 1);
+            if(Character.isLowSurrogate(after))
+                encodeCodePoint(Character.toCodePoint(last, after), result, offset - 1);
+        }
+    }
+
+    private void stream(String[] input, byte[] staging, ByteSink sink) throws IOException {
+        int count = 0;
+        //a high surrogate waiting for the next char, of this piece or the next one
+        char pending = 0;
+        for(int i = 0; i < input.length; i++){
+            for(int part = i > 0 ? 0 : 1; part < 2; part++){
+                String value = part == 0 ? delimiter : valueOf(input[i]);
+                for(int k = 0; k < value.length(); k++){
+                    if(count > staging.length - 4){
+                        sink.write(staging, count);
+                        count = 0;
+                    }
+                    char c = value.charAt(k);
+                    if(pending != 0){
+                        char high = pending;
+                        pending = 0;
+                        if(Character.isLowSurrogate(c)){
+                            count = encodeCodePoint(Character.toCodePoint(high, c), staging, count);
+                            continue;
+                        }
+                        count = encodeChar(high, staging, count);
+                    }
+                    if(Character.isHighSurrogate(c))
+                        pending = c;
+                    else
+                        count = encodeChar(c, staging, count);
+                }
+            }
+        }
+        if(pending != 0){
+            if(count == staging.length){
+                sink.write(staging, count);
+                count = 0;
+            }
+            count = encodeChar(pending, staging, count);
+        }
+        if(count > 0)
+            sink.write(staging, count);
+    }
+
+    static long utf8Length(String value){
+        long length = 0;
+        int n = value.length();
+        for(int k = 0; k < n; k++){
+            char c = value.charAt(k);
+            if(c < 0x80){
+                length++;
+            }else if(c < 0x800){
+                length += 2;
+            }else if(Character.isHighSurrogate(c) && k + 1 < n && Character.isLowSurrogate(value.charAt(k + 1))){
+                length += 4;
+                k++;
+            }else if(Character.isSurrogate(c)){
+                length++;
+            }else{
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Encodes value from the char at index start.
+     *
+     * @return the offset after the encoded value
+     */
+    private static int encode(String value, int start, byte[] result, int offset){
+        int n = value.length();
+        for(int k = start; k < n; k++){
+            char c = value.charAt(k);
+            if(c < 0x80){
+                result[offset++] = (byte) c;
+            }else if(Character.isHighSurrogate(c) && k + 1 < n && Character.isLowSurrogate(value.charAt(k + 1))){
+                offset = encodeCodePoint(Character.toCodePoint(c, value.charAt(++k)), result, offset);
+            }else{
+                offset = encodeChar(c, result, offset);
+            }
+        }
+        return offset;
+    }
+
+    private static int encodeChar(char c, byte[] result, int offset){
+        if(c < 0x80){
+            result[offset++] = (byte) c;
+        }else if(c < 0x800){
+            result[offset++] = (byte) (0xC0 | (c >> 6));
+            result[offset++] = (byte) (0x80 | (c & 0x3F));
+        }else if(Character.isSurrogate(c)){
+            result[offset++] = '?';
+        }else{
+            result[offset++] = (byte) (0xE0 | (c >> 12));
+            result[offset++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            result[offset++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return offset;
+    }
+
+    private static int encodeCodePoint(int codePoint, byte[] result, int offset){
+        result[offset++] = (byte) (0xF0 | (codePoint >> 18));
+        result[offset++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        result[offset++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        result[offset++] = (byte) (0x80 | (codePoint & 0x3F));
+        return offset;
+    }
+
+    private interface ByteSink {
+        void write(byte[] bytes, int count) throws IOException;
+    }
+}
@@ -0,0 +1,259 @@
+package com.kloudly.stringrecipes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The file-to-file counterpart of StringRecipes.addLineNumbers: every line
+ * of the input is written to the output as "number - line\n".
+ * <p>
+ * The input is memory-mapped in chunks cut after a new line, so no line is
+ * split, and scanned for line terminators; the lines are copied as bytes,
+ * never decoded. As with String.lines, lines end with "\n", "\r\n" or a
+ * lone "\r", and a last line without terminator is numbered too.
+ * <p>
+ * The parallel mode runs two passes over the chunks. The first one counts
+ * the lines and bytes of every chunk; prefix sums then give the first line
+ * number and the output position of every chunk, so the second pass can
+ * number and write the chunks concurrently.
+ */
+public class LineNumberer {
+    static final int DEFAULT_CHUNK_BYTES = 1 << 26;
+    static final int STAGING_BYTES = 1 << 16;
+
+    private static final byte[] SEPARATOR = {' ', '-', ' '};
+    private static final int MAX_PREFIX_BYTES = 19 + SEPARATOR.length;
+
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+
+    public LineNumberer(){
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool : the pool running the chunks of the parallel mode
+     */
+    public LineNumberer(ForkJoinPool pool){
+        this(pool, DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * @param chunkBytes : the number of input bytes mapped and numbered at once
+     */
+    LineNumberer(ForkJoinPool pool, int chunkBytes){
+        if(chunkBytes <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive!");
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * @return the number of lines written to output
+     */
+    public long addLineNumbers(Path input, Path output) throws IOException {
+        try(FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+            FileChannel out = openOutput(output)){
+            long[] limits = ParallelChunks.split(in, chunkBytes, b -> b == '\n');
+            long lines = 0;
+            long position = 0;
+            for(int chunk = 0; chunk < limits.length - 1; chunk++){
+                ByteBuffer lineBytes = ParallelChunks.map(in, limits[chunk], limits[chunk + 1]);
+                NumberedOutput numbered = new NumberedOutput(out, position);
+                lines += numbered.write(lineBytes, lines + 1);
+                position = numbered.position;
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Same output as {@link #addLineNumbers(Path, Path)}, the chunks being
+     * counted, then numbered and written concurrently.
+     *
+     * @return the number of lines written to output
+     */
+    public long addLineNumbersParallel(Path input, Path output) throws IOException {
+        try(FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+            FileChannel out = openOutput(output)){
+            long[] limits = ParallelChunks.split(in, chunkBytes, b -> b == '\n');
+            int chunks = limits.length - 1;
+
+            //1. lines and line bytes of every chunk
+            long[] lineCounts = new long[chunks];
+            long[] contentBytes = new long[chunks];
+            forEachChunk(chunks, chunk -> {
+                ByteBuffer lineBytes = ParallelChunks.map(in, limits[chunk], limits[chunk + 1]);
+                long lines = 0;
+                long content = 0;
+                for(int start = 0, limit = lineBytes.limit(); start < limit; ){
+                    int end = endOfLine(lineBytes, start);
+                    lines++;
+                    content += end - start;
+                    start = nextLine(lineBytes, end);
+                }
+                lineCounts[chunk] = lines;
+                contentBytes[chunk] = content;
+            });
+
+            //2. first line number and output position of every chunk
+            long[] firstLines = new long[chunks];
+            long[] positions = new long[chunks];
+            long lines = 0;
+            long position = 0;
+            for(int chunk = 0; chunk < chunks; chunk++){
+                firstLines[chunk] = lines + 1;
+                positions[chunk] = position;
+                position += contentBytes[chunk]
+                        + lineCounts[chunk] * (SEPARATOR.length + 1)
+                        + digitsBetween(lines + 1, lineCounts[chunk]);
+                lines += lineCounts[chunk];
+            }
+
+            //3. number the chunks at their offsets
+            forEachChunk(chunks, chunk -> {
+                ByteBuffer lineBytes = ParallelChunks.map(in, limits[chunk], limits[chunk + 1]);
+                new NumberedOutput(out, positions[chunk]).write(lineBytes, firstLines[chunk]);
+            });
+            return lines;
+        }
+    }
+
+    /**
+     * @return the total number of decimal digits of the count numbers
+     * starting at from
+     */
+    static long digitsBetween(long from, long count){
+        long total = 0;
+        long end = from + count;
+        long power = 10;
+        int digits = 1;
+        for(long n = from; n < end; ){
+            while(n >= power){
+                power *= 10;
+                digits++;
+            }
+            long stop = Math.min(end, power);
+            total += (stop - n) * digits;
+            n = stop;
+        }
+        return total;
+    }
+
+    private void forEachChunk(int chunks, ChunkBody body) throws IOException {
+        try{
+            ParallelChunks.forEach(pool, chunks, chunk -> {
+                try{
+                    body.accept(chunk);
+                }catch(IOException e){
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }catch(UncheckedIOException e){
+            throw e.getCause();
+        }
+    }
+
+    private static FileChannel openOutput(Path output) throws IOException {
+        return FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * @return the index of the next '\n' or '\r' at or after start, or the limit
+     */
+    private static int endOfLine(ByteBuffer bytes, int start){
+        int limit = bytes.limit();
+        int i = start;
+        byte b;
+        while(i < limit && (b = bytes.get(i)) != '\n' && b != '\r'){
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return the start of the line after the terminator at end, which is
+     * two bytes long for "\r\n". Chunks are cut after '\n' bytes, so a
+     * "\r\n" is never split between two chunks
+     */
+    private static int nextLine(ByteBuffer bytes, int end){
+        return end + 1 < bytes.limit() && bytes.get(end) == '\r' && bytes.get(end + 1) == '\n' ? end + 2 : end + 1;
+    }
+
+    private interface ChunkBody {
+        void accept(int chunk) throws IOException;
+    }
+
+    /**
+     * Writes numbered lines to a channel from a given position, through a
+     * staging buffer flushed with positional writes.
+     */
+    private static final class NumberedOutput {
+        private final FileChannel out;
+        private final ByteBuffer staging = ByteBuffer.allocate(STAGING_BYTES);
+        private long position;
+
+        NumberedOutput(FileChannel out, long position){
+            this.out = out;
+            this.position = position;
+        }
+
+        /**
+         * @return the number of lines written
+         */
+        long write(ByteBuffer lineBytes, long firstLine) throws IOException {
+            long number = firstLine;
+            for(int start = 0, limit = lineBytes.limit(); start < limit; ){
+                int end = endOfLine(lineBytes, start);
+                if(staging.remaining() < MAX_PREFIX_BYTES)
+                    flush();
+                putNumber(number++);
+                staging.put(SEPARATOR);
+                put(lineBytes, start, end);
+                if(!staging.hasRemaining())
+                    flush();
+                staging.put((byte) '\n');
+                start = nextLine(lineBytes, end);
+            }
+            flush();
+            return number - firstLine;
+        }
+
+        private void putNumber(long number){
+            int digits = 1;
+            for(long n = number; n >= 10; n /= 10){
+                digits++;
+            }
+            int end = staging.position() + digits;
+            for(int i = end - 1; i >= staging.position(); i--){
+                staging.put(i, (byte) ('0' + number % 10));
+                number /= 10;
+            }
+            staging.position(end);
+        }
+
+        private void put(ByteBuffer source, int from, int to) throws IOException {
+            while(from < to){
+                if(!staging.hasRemaining())
+                    flush();
+                int length = Math.min(to - from, staging.remaining());
+                staging.put(source.slice(from, length));
+                from += length;
+            }
+        }
+
+        private void flush() throws IOException {
+            staging.flip();
+            while(staging.hasRemaining()){
+                position += out.write(staging, position);
+            }
+            staging.clear();
+        }
+    }
+}
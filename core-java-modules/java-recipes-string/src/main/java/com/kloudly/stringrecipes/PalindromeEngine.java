@@ -0,0 +1,261 @@
+package com.kloudly.stringrecipes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Palindrome queries for large volumes of tokens.
+ * <ul>
+ *     <li>Whole-string checks compare each pair of characters once, n/2
+ *     comparisons in total.</li>
+ *     <li>Longest palindromic substring and number of palindromic substrings
+ *     are answered in linear time with Manacher's algorithm.</li>
+ *     <li>Lists of tokens and text files are checked in parallel on a
+ *     fork-join pool.</li>
+ * </ul>
+ * Palindromes are defined on chars: no case folding, no normalization.
+ */
+public class PalindromeEngine {
+    static final int DEFAULT_BATCH_SIZE = 1024;
+    static final int DEFAULT_FILE_CHUNK_BYTES = 1 << 22;
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final int fileChunkBytes;
+
+    public PalindromeEngine(){
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool : the pool running the batch queries
+     */
+    public PalindromeEngine(ForkJoinPool pool){
+        this(pool, DEFAULT_BATCH_SIZE, DEFAULT_FILE_CHUNK_BYTES);
+    }
+
+    /**
+     * @param batchSize : the number of tokens of a list checked by one task
+     * @param fileChunkBytes : the number of bytes of a file checked by one task
+     */
+    PalindromeEngine(ForkJoinPool pool, int batchSize, int fileChunkBytes){
+        if(batchSize <= 0 || fileChunkBytes <= 0)
+            throw new IllegalArgumentException("Batch and chunk sizes must be positive!");
+        this.pool = pool;
+        this.batchSize = batchSize;
+        this.fileChunkBytes = fileChunkBytes;
+    }
+
+    public boolean isPalindrome(CharSequence toCheck){
+        for(int i = 0, j = toCheck.length() - 1; i < j; i++, j--){
+            if(toCheck.charAt(i) != toCheck.charAt(j))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param latin1 : ISO-8859-1 bytes, one byte per character
+     */
+    public boolean isPalindrome(byte[] latin1, int offset, int length){
+        for(int i = offset, j = offset + length - 1; i < j; i++, j--){
+            if(latin1[i] != latin1[j])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the longest palindromic substring, the leftmost one on ties
+     */
+    public String longestPalindromicSubstring(String input){
+        int n = input.length();
+        if(n == 0)
+            return input;
+        int[] radius = new int[n];
+        int bestStart = 0;
+        int bestLength = 1;
+
+        oddRadii(input, radius);
+        for(int i = 0; i < n; i++){
+            int length = 2 * radius[i] - 1;
+            if(length > bestLength){
+                bestLength = length;
+                bestStart = i - radius[i] + 1;
+            }
+        }
+        evenRadii(input, radius);
+        for(int i = 0; i < n; i++){
+            int length = 2 * radius[i];
+            int start = i - radius[i];
+            if(length > bestLength || (length == bestLength && start < bestStart)){
+                bestLength = length;
+                bestStart = start;
+            }
+        }
+        return input.substring(bestStart, bestStart + bestLength);
+    }
+
+    /**
+     * @return the number of non-empty palindromic substrings, counted once
+     * per position: "aaa" has 6 of them
+     */
+    public long countPalindromicSubstrings(CharSequence input){
+        int n = input.length();
+        int[] radius = new int[n];
+        long count = 0;
+        oddRadii(input, radius);
+        for(int r : radius){
+            count += r;
+        }
+        evenRadii(input, radius);
+        for(int r : radius){
+            count += r;
+        }
+        return count;
+    }
+
+    /**
+     * @return for every token, whether it is a palindrome
+     */
+    public boolean[] arePalindromes(List<String> tokens){
+        String[] values = tokens.toArray(new String[0]);
+        boolean[] result = new boolean[values.length];
+        int batches = (values.length + batchSize - 1) / batchSize;
+        ParallelChunks.forEach(pool, batches, batch -> {
+            int to = (int) Math.min(values.length, (long) (batch + 1) * batchSize);
+            for(int i = batch * batchSize; i < to; i++){
+                result[i] = isPalindrome(values[i]);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Checks every token of a UTF-8 text file, tokens being separated by
+     * ASCII whitespace. The file is memory-mapped in chunks checked in
+     * parallel; ASCII tokens are checked on their bytes without decoding.
+     *
+     * @return the palindromic tokens, in file order
+     */
+    public List<String> palindromes(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+            long[] limits = ParallelChunks.split(channel, fileChunkBytes, PalindromeEngine::isWhitespace);
+            int chunks = limits.length - 1;
+            List<List<String>> found = new ArrayList<>(chunks);
+            for(int chunk = 0; chunk < chunks; chunk++){
+                found.add(null);
+            }
+            try{
+                ParallelChunks.forEach(pool, chunks, chunk -> {
+                    try{
+                        found.set(chunk, palindromes(channel, limits[chunk], limits[chunk + 1]));
+                    }catch(IOException e){
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }catch(UncheckedIOException e){
+                throw e.getCause();
+            }
+            List<String> result = new ArrayList<>();
+            found.forEach(result::addAll);
+            return result;
+        }
+    }
+
+    private List<String> palindromes(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer chunk = ParallelChunks.map(channel, from, to);
+        List<String> result = new ArrayList<>();
+        int limit = chunk.limit();
+        int i = 0;
+        while(i < limit){
+            while(i < limit && isWhitespace(chunk.get(i))){
+                i++;
+            }
+            int start = i;
+            while(i < limit && !isWhitespace(chunk.get(i))){
+                i++;
+            }
+            if(start < i && isUtf8Palindrome(chunk, start, i)){
+                result.add(decode(chunk, start, i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compares bytes from both ends while they are ASCII: a multi-byte UTF-8
+     * sequence only contains bytes >= 0x80, so until one is met the bytes
+     * line up with the characters. The remaining middle is decoded.
+     */
+    private boolean isUtf8Palindrome(ByteBuffer bytes, int from, int to){
+        int i = from;
+        int j = to - 1;
+        while(i < j){
+            byte first = bytes.get(i);
+            byte last = bytes.get(j);
+            if((first | last) < 0)
+                return isPalindrome(decode(bytes, i, j + 1));
+            if(first != last)
+                return false;
+            i++;
+            j--;
+        }
+        return true;
+    }
+
+    private static String decode(ByteBuffer bytes, int from, int to){
+        byte[] copy = new byte[to - from];
+        bytes.get(from, copy);
+        return new String(copy, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isWhitespace(int b){
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    /**
+     * radius[i] is the number of odd palindromes centered on i, the
+     * character itself included.
+     */
+    private static void oddRadii(CharSequence s, int[] radius){
+        int n = s.length();
+        for(int i = 0, left = 0, right = -1; i < n; i++){
+            int k = i > right ? 1 : Math.min(radius[left + right - i], right - i + 1);
+            while(i - k >= 0 && i + k < n && s.charAt(i - k) == s.charAt(i + k)){
+                k++;
+            }
+            radius[i] = k;
+            if(i + k - 1 > right){
+                left = i - k + 1;
+                right = i + k - 1;
+            }
+        }
+    }
+
+    /**
+     * radius[i] is the number of even palindromes centered between i - 1 and i.
+     */
+    private static void evenRadii(CharSequence s, int[] radius){
+        int n = s.length();
+        for(int i = 0, left = 0, right = -1; i < n; i++){
+            int k = i > right ? 0 : Math.min(radius[left + right - i + 1], right - i + 1);
+            while(i - k - 1 >= 0 && i + k < n && s.charAt(i - k - 1) == s.charAt(i + k)){
+                k++;
+            }
+            radius[i] = k;
+            if(i + k - 1 > right){
+                left = i - k;
+                right = i + k - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.kloudly.stringrecipes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Helpers shared by the parallel recipes: running one task per chunk on a
+ * fork-join pool, and cutting a file into chunks that never split a record.
+ */
+final class ParallelChunks {
+    private static final int SCAN_BYTES = 8192;
+
+    private ParallelChunks(){
+    }
+
+    /**
+     * Runs body for every chunk number in [0, chunks) and waits for all of them.
+     */
+    static void forEach(ForkJoinPool pool, int chunks, IntConsumer body){
+        pool.invoke(new ChunkRangeAction(0, chunks, body));
+    }
+
+    /**
+     * Cuts a file into chunks of about chunkBytes bytes. Every chunk but the
+     * first one starts right after a separator byte, so a record (a token, a
+     * line) always lies in a single chunk.
+     *
+     * @return the chunk limits: chunk k is [limits[k], limits[k + 1]). An
+     * empty file has no chunk
+     */
+    static long[] split(FileChannel channel, long chunkBytes, IntPredicate isSeparator) throws IOException {
+        if(chunkBytes <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive!");
+        long size = channel.size();
+        if(size == 0)
+            return new long[]{0L};
+        long chunks = (size + chunkBytes - 1) / chunkBytes;
+        if(chunks >= Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Chunk size too small for a file of " + size + " bytes");
+        long[] limits = new long[(int) chunks + 1];
+        int count = 1;
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BYTES);
+        for(long k = 1; k < chunks; k++){
+            long nominal = Math.max(k * chunkBytes, limits[count - 1]);
+            long start = startAfterSeparator(channel, nominal, size, isSeparator, buffer);
+            if(start > limits[count - 1] && start < size)
+                limits[count++] = start;
+        }
+        limits[count++] = size;
+        return Arrays.copyOf(limits, count);
+    }
+
+    /**
+     * Maps the chunk [from, to) of a file read-only.
+     */
+    static MappedByteBuffer map(FileChannel channel, long from, long to) throws IOException {
+        if(to - from > Integer.MAX_VALUE)
+            throw new IOException("A single record run exceeds 2 GB at offset " + from);
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+    }
+
+    /**
+     * @return the first position at or after from that follows a separator,
+     * or size when there is none
+     */
+    private static long startAfterSeparator(FileChannel channel, long from, long size, IntPredicate isSeparator,
+                                            ByteBuffer buffer) throws IOException {
+        long position = from - 1;
+        while(position < size){
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if(read <= 0)
+                break;
+            for(int i = 0; i < read; i++){
+                if(isSeparator.test(buffer.get(i)))
+                    return position + i + 1;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Splits a range of chunk numbers in halves until a single chunk is left.
+     */
+    private static final class ChunkRangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final transient IntConsumer body;
+
+        ChunkRangeAction(int from, int to, IntConsumer body){
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute(){
+            if(to - from <= 1){
+                if(from < to)
+                    body.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkRangeAction(from, middle, body), new ChunkRangeAction(middle, to, body));
+        }
+    }
+}
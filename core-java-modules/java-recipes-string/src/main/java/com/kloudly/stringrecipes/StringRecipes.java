@@ -12,7 +12,7 @@ public class StringRecipes {
 
     public boolean isPalindrome(String toCheck){
         int n = toCheck.length();
-        for(int i=0; i< n; i++){
+        for(int i=0; i< n / 2; i++){
             char firstChar = toCheck.charAt(i);
             char secondChar = toCheck.charAt(n - i - 1);
             if(firstChar != secondChar)
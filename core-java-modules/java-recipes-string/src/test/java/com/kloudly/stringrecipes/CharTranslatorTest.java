@@ -0,0 +1,69 @@
+package com.kloudly.stringrecipes;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CharTranslatorTest {
+    private static StringRecipes bean;
+
+    @BeforeAll
+    static void setUp(){
+        bean = new StringRecipes();
+    }
+
+    @Test
+    void testToUpperCase(){
+        //Given
+        String simple = "Hello world!";
+        CharTranslator translator = CharTranslator.toUpperCase('o', 'l');
+        //When
+        String result = translator.translate(simple);
+        //Then
+        assertEquals("HeLLO wOrLd!", result);
+        assertEquals(bean.switchCharacterToUpperCase(simple, 'o'), CharTranslator.toUpperCase('o').translate(simple));
+    }
+
+    @Test
+    void testNothingToTranslate(){
+        //Given
+        String simple = "Hello world!";
+        CharTranslator translator = CharTranslator.of("xyz\u00e9", "XYZ\u00c9");
+        //When
+        String result = translator.translate(simple);
+        //Then
+        assertSame(simple, result);
+    }
+
+    @Test
+    void testTranslateIntoBuffers() throws IOException {
+        //Given
+        CharTranslator translator = CharTranslator.of(Map.of(',', ';', '\u00e9', 'e', ' ', ' '));
+        String input = "caf\u00e9, th\u00e9,\u4e2d";
+        char[] buffer = new char[input.length() + 2];
+        StringBuilder appendable = new StringBuilder(">");
+        //When
+        int end = translator.translate(input, buffer, 1);
+        translator.translate(input, appendable);
+        //Then
+        assertEquals("cafe; the;\u4e2d", new String(buffer, 1, end - 1));
+        assertEquals(input.length() + 1, end);
+        assertEquals(">cafe; the;\u4e2d", appendable.toString());
+    }
+
+    @Test
+    void testInvalidMappings(){
+        assertThrows(IllegalArgumentException.class, () -> CharTranslator.of("ab", "A"));
+        assertThrows(IllegalArgumentException.class, () -> CharTranslator.of("aa", "AB"));
+        assertThrows(IllegalArgumentException.class, () -> CharTranslator.of("aa", "aA"));
+        assertThrows(IllegalArgumentException.class, () -> CharTranslator.of("aa", "Aa"));
+        assertEquals("Ab", CharTranslator.of("aab", "AAb").translate("ab"));
+        assertThrows(IndexOutOfBoundsException.class, () -> CharTranslator.of("a", "A").translate("abc", new char[4], 2));
+    }
+}
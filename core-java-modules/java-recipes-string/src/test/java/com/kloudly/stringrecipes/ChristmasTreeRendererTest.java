@@ -0,0 +1,77 @@
+package com.kloudly.stringrecipes;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ChristmasTreeRendererTest {
+    private static StringRecipes bean;
+
+    @BeforeAll
+    static void setUp(){
+        bean = new StringRecipes();
+    }
+
+    @Test
+    void testSameTreeAsBuildChristmasTree() throws IOException {
+        for(int height = 0; height <= 40; height++){
+            //Given
+            String expected = bean.buildChristmasTree(height);
+            ChristmasTreeRenderer renderer = new ChristmasTreeRenderer(height);
+            StringBuilder appendable = new StringBuilder();
+            StringWriter writer = new StringWriter();
+            StringBuffer buffer = new StringBuffer();
+            Appendable builderAsAppendable = new StringBuilder(">");
+            Appendable writerAsAppendable = new StringWriter();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            //When
+            renderer.renderTo(appendable);
+            renderer.renderTo(writer);
+            renderer.renderTo(buffer);
+            renderer.renderTo(builderAsAppendable);
+            renderer.renderTo(writerAsAppendable);
+            try(WritableByteChannel channel = Channels.newChannel(bytes)){
+                renderer.renderTo(channel);
+            }
+            //Then
+            assertEquals(expected, appendable.toString(), "height " + height);
+            assertEquals(expected, writer.toString(), "height " + height);
+            assertEquals(expected, buffer.toString(), "height " + height);
+            assertEquals(">" + expected, builderAsAppendable.toString(), "height " + height);
+            assertEquals(expected, writerAsAppendable.toString(), "height " + height);
+            assertEquals(expected, bytes.toString(StandardCharsets.US_ASCII), "height " + height);
+            assertEquals(expected.length(), renderer.length(), "height " + height);
+        }
+    }
+
+    @Test
+    void testLargeTreeThroughChannel() throws IOException {
+        //Given rows wider than the staging buffer
+        int height = ChristmasTreeRenderer.STAGING_BYTES + 3;
+        ChristmasTreeRenderer renderer = new ChristmasTreeRenderer(height);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        //When
+        try(WritableByteChannel channel = Channels.newChannel(bytes)){
+            renderer.renderTo(channel);
+        }
+        //Then
+        StringBuilder expected = new StringBuilder();
+        renderer.renderTo(expected);
+        assertEquals(renderer.length(), bytes.size());
+        assertEquals(expected.toString(), bytes.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testNegativeHeight(){
+        assertThrows(IllegalArgumentException.class, () -> new ChristmasTreeRenderer(-1));
+    }
+}
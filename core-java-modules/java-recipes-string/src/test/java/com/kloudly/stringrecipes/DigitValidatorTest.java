@@ -0,0 +1,116 @@
+package com.kloudly.stringrecipes;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class DigitValidatorTest {
+    private static final DigitValidator SWAR = DigitValidator.swar();
+    private static final DigitValidator VECTOR = DigitValidator.vectorIfAvailable();
+
+    @Test
+    void testContainsOnlyDigits(){
+        //Given
+        String validNumber = "12345";
+        String invalidNumber = "1234a";
+        //When
+        //Then
+        for(DigitValidator validator : new DigitValidator[]{SWAR, VECTOR}){
+            assertTrue(validator.containsOnlyDigits(validNumber));
+            assertFalse(validator.containsOnlyDigits(invalidNumber));
+            assertTrue(validator.containsOnlyDigits(""));
+            assertTrue(validator.containsOnlyDigits("0123456789012345678".getBytes(StandardCharsets.US_ASCII)));
+            assertFalse(validator.containsOnlyDigits("01234567/9012345678".getBytes(StandardCharsets.US_ASCII)));
+            assertFalse(validator.containsOnlyDigits("012345678901234567:".getBytes(StandardCharsets.US_ASCII)));
+            //Arabic-Indic digits are not ASCII digits, nor is any char whose low byte is one
+            assertFalse(validator.containsOnlyDigits("12\u0663\u06644"));
+            assertFalse(validator.containsOnlyDigits("1234\u0130"));
+        }
+    }
+
+    @Test
+    void testAgainstCharRange(){
+        //Given digit strings of every length up to 40, most with one random byte
+        Random random = new Random(19);
+        for(int length = 0; length <= 40; length++){
+            for(int round = 0; round < 50; round++){
+                byte[] bytes = new byte[length];
+                for(int i = 0; i < length; i++){
+                    bytes[i] = (byte) ('0' + random.nextInt(10));
+                }
+                if(length > 0 && round > 0)
+                    bytes[random.nextInt(length)] = (byte) random.nextInt(256);
+                String latin1 = new String(bytes, StandardCharsets.ISO_8859_1);
+                boolean expected = latin1.chars().allMatch(c -> c >= '0' && c <= '9');
+                ByteBuffer heap = ByteBuffer.allocate(length + 3);
+                ByteBuffer direct = ByteBuffer.allocateDirect(length + 3);
+                heap.position(3);
+                heap.put(bytes).position(3);
+                direct.position(3);
+                direct.put(bytes).position(3);
+                //When
+                //Then
+                for(DigitValidator validator : new DigitValidator[]{SWAR, VECTOR}){
+                    assertEquals(expected, validator.containsOnlyDigits(latin1), latin1);
+                    assertEquals(expected, validator.containsOnlyDigits(bytes, 0, length), latin1);
+                    assertEquals(expected, validator.containsOnlyDigits(heap), latin1);
+                    assertEquals(expected, validator.containsOnlyDigits(direct, 3, length), latin1);
+                    assertEquals(3, heap.position());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testValidateColumn(){
+        //Given
+        String csv = "id,amount,label\n"
+                + "1,1200,a\n"
+                + "2,12.5,b\n"
+                + "3,,c\n"
+                + "4\n"
+                + "5,0042\r\n"
+                + "6,99,d";
+        ByteBuffer buffer = ByteBuffer.wrap(csv.getBytes(StandardCharsets.US_ASCII));
+        BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(2);
+        expected.set(3);
+        expected.set(4);
+        //When
+        BitSet result = SWAR.validateColumn(buffer, 1, ',');
+        //Then
+        assertEquals(expected, result);
+        assertEquals(0, buffer.position());
+        assertEquals(VECTOR.validateColumn(buffer, 1, ','), result);
+        BitSet firstColumn = SWAR.validateColumn(buffer, 0, ',');
+        assertEquals(1, firstColumn.cardinality());
+        assertTrue(firstColumn.get(0));
+    }
+
+    @Test
+    void testVectorKernelLoadedUnderVectorProfile(){
+        //Given the vector profile, which sets stringrecipes.vector
+        assumeTrue(Boolean.getBoolean("stringrecipes.vector"), "not run with -Pvector");
+        //When
+        //Then
+        assertTrue(VECTOR.isVectorized());
+        assertFalse(SWAR.isVectorized());
+    }
+
+    @Test
+    void testInvalidRange(){
+        assertThrows(IndexOutOfBoundsException.class, () -> SWAR.containsOnlyDigits(new byte[4], 2, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> SWAR.containsOnlyDigits(ByteBuffer.allocate(4), -1, 2));
+        assertThrows(IllegalArgumentException.class, () -> SWAR.validateColumn(ByteBuffer.allocate(4), -1, ','));
+    }
+}
@@ -0,0 +1,143 @@
+package com.kloudly.stringrecipes;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExactSizeJoinerTest {
+    private static StringRecipes bean;
+    private static ExactSizeJoiner joiner;
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void setUp(){
+        bean = new StringRecipes();
+        pool = new ForkJoinPool(4);
+        joiner = new ExactSizeJoiner(",", pool, 3);
+    }
+
+    @AfterAll
+    static void tearDown(){
+        pool.shutdown();
+    }
+
+    @Test
+    void testJoiningStrings() throws IOException {
+        //Given
+        String[] input = {"John", "Doe", "30", "Software Engineer"};
+        String expected = bean.joinWithStringJoin(input);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        //When
+        char[] chars = joiner.joinToChars(input);
+        byte[] utf8 = joiner.joinToUtf8(input);
+        joiner.joinTo(input, stream);
+        //Then
+        assertEquals(expected, new String(chars));
+        assertEquals(expected, new String(utf8, StandardCharsets.UTF_8));
+        assertEquals(expected, stream.toString(StandardCharsets.UTF_8));
+        assertEquals(expected, new String(joiner.joinToCharsParallel(input)));
+        assertArrayEquals(utf8, joiner.joinToUtf8Parallel(input));
+    }
+
+    @Test
+    void testJoiningRandomUnicodeStrings() throws IOException {
+        //Given
+        Random random = new Random(17);
+        for(int round = 0; round < 100; round++){
+            String delimiter = round % 2 == 0 ? " \u2192 " : "";
+            ExactSizeJoiner unicodeJoiner = new ExactSizeJoiner(delimiter, pool, 5);
+            String[] input = new String[random.nextInt(40)];
+            for(int i = 0; i < input.length; i++){
+                input[i] = random.nextInt(20) == 0 ? null : randomString(random);
+            }
+            String expected = String.join(delimiter, input);
+            byte[] expectedBytes = expected.getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            ByteBuffer heap = ByteBuffer.allocate(expectedBytes.length + 2).position(1);
+            ByteBuffer direct = ByteBuffer.allocateDirect(expectedBytes.length);
+            //When
+            unicodeJoiner.joinTo(input, stream);
+            unicodeJoiner.joinTo(input, heap);
+            unicodeJoiner.joinTo(input, direct);
+            //Then
+            String message = Arrays.toString(input);
+            assertEquals(expected.length(), unicodeJoiner.length(input), message);
+            assertEquals(expectedBytes.length, unicodeJoiner.utf8Length(input), message);
+            assertArrayEquals(expected.toCharArray(), unicodeJoiner.joinToChars(input), message);
+            assertArrayEquals(expected.toCharArray(), unicodeJoiner.joinToCharsParallel(input), message);
+            assertArrayEquals(expectedBytes, unicodeJoiner.joinToUtf8(input), message);
+            assertArrayEquals(expectedBytes, unicodeJoiner.joinToUtf8Parallel(input), message);
+            assertArrayEquals(expectedBytes, stream.toByteArray(), message);
+            assertEquals(expectedBytes.length + 1, heap.position());
+            assertArrayEquals(expectedBytes, Arrays.copyOfRange(heap.array(), 1, expectedBytes.length + 1), message);
+            byte[] directBytes = new byte[expectedBytes.length];
+            direct.flip().get(directBytes);
+            assertArrayEquals(expectedBytes, directBytes, message);
+        }
+    }
+
+    @Test
+    void testJoiningSurrogatePairsSplitAcrossElements() throws IOException {
+        //Given pairs split between elements, delimiters and segments
+        String[][] inputs = {
+                {"a\uD83D", "\uDE00b"},
+                {"\uD83D", "", "", "\uDE00", "\uD83D"},
+                {"\uDE00", "\uD83D", null, "\uD83D", "", "\uDE00\uDE00"},
+                {"", "\uD83D", "", "", "\uDE00", ""}};
+        for(String delimiter : new String[]{"", "\uDE00", "\uD83D", "\uDE00-\uD83D"}){
+            for(int segmentSize : new int[]{1, 2, 16}){
+                ExactSizeJoiner surrogateJoiner = new ExactSizeJoiner(delimiter, pool, segmentSize);
+                for(String[] input : inputs){
+                    byte[] expected = String.join(delimiter, input).getBytes(StandardCharsets.UTF_8);
+                    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                    //When
+                    surrogateJoiner.joinTo(input, stream);
+                    //Then
+                    String message = delimiter + " " + segmentSize + " " + Arrays.toString(input);
+                    assertEquals(expected.length, surrogateJoiner.utf8Length(input), message);
+                    assertArrayEquals(expected, surrogateJoiner.joinToUtf8(input), message);
+                    assertArrayEquals(expected, surrogateJoiner.joinToUtf8Parallel(input), message);
+                    assertArrayEquals(expected, stream.toByteArray(), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testJoiningIntoSmallBuffer(){
+        //Given
+        String[] input = {"caf\u00e9", "na\u00efve"};
+        ByteBuffer buffer = ByteBuffer.allocate(11);
+        //When
+        //Then
+        assertThrows(BufferOverflowException.class, () -> joiner.joinTo(input, buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    private static String randomString(Random random){
+        char[] chars = new char[random.nextInt(12)];
+        for(int i = 0; i < chars.length; i++){
+            switch(random.nextInt(5)){
+                case 0 -> chars[i] = (char) ('a' + random.nextInt(26));
+                case 1 -> chars[i] = (char) (0x80 + random.nextInt(0x780));
+                case 2 -> chars[i] = (char) (0x800 + random.nextInt(0xD000));
+                case 3 -> chars[i] = (char) (0xD800 + random.nextInt(0x800));
+                default -> chars[i] = ',';
+            }
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,104 @@
+package com.kloudly.stringrecipes;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LineNumbererTest {
+    private static StringRecipes bean;
+    private static ForkJoinPool pool;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void setUp(){
+        bean = new StringRecipes();
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void tearDown(){
+        pool.shutdown();
+    }
+
+    @Test
+    void testAddLineNumbersToFile() throws IOException {
+        //Given
+        String input = """
+                Java is an awesome programming language
+                Python is a fabulous programming language
+
+                PHP is another awesome programming language
+                """ + "C is old\r\nso is COBOL";
+        //When
+        //Then
+        for(int chunkBytes : new int[]{1, 7, 64, LineNumberer.DEFAULT_CHUNK_BYTES}){
+            assertNumbered(input, new LineNumberer(pool, chunkBytes));
+        }
+    }
+
+    @Test
+    void testAddLineNumbersToLargeFile() throws IOException {
+        //Given enough lines to cross several digit counts
+        Random random = new Random(16);
+        StringBuilder input = new StringBuilder();
+        for(int i = 0; i < 12_345; i++){
+            input.append("line ").append(random.nextInt(1_000_000)).append('\n');
+        }
+        //When
+        //Then
+        assertNumbered(input.toString(), new LineNumberer(pool, 4096));
+    }
+
+    @Test
+    void testCarriageReturnsAsInStringLines() throws IOException {
+        //Given lone carriage returns, inside and at the end of the input
+        String input = "first\rsecond\r\n\r\rthird\n\r\nlast\r";
+        //When
+        //Then
+        for(int chunkBytes : new int[]{1, 3, 64}){
+            assertNumbered(input, new LineNumberer(pool, chunkBytes));
+        }
+        assertNumbered("only\r", new LineNumberer(pool, 16));
+    }
+
+    @Test
+    void testAddLineNumbersToEmptyFile() throws IOException {
+        assertNumbered("", new LineNumberer(pool, 16));
+    }
+
+    @Test
+    void testDigitsBetween(){
+        assertEquals(9, LineNumberer.digitsBetween(1, 9));
+        assertEquals(9 + 2 * 90 + 3, LineNumberer.digitsBetween(1, 100));
+        assertEquals(2 + 3 * 5, LineNumberer.digitsBetween(99, 6));
+        assertEquals(0, LineNumberer.digitsBetween(42, 0));
+    }
+
+    private void assertNumbered(String input, LineNumberer numberer) throws IOException {
+        Path file = tempDir.resolve("input.txt");
+        Path sequential = tempDir.resolve("sequential.txt");
+        Path parallel = tempDir.resolve("parallel.txt");
+        Files.writeString(file, input);
+        StringBuilder expected = new StringBuilder();
+        bean.addLineNumbers(input).forEach(line -> expected.append(line).append('\n'));
+
+        long sequentialLines = numberer.addLineNumbers(file, sequential);
+        long parallelLines = numberer.addLineNumbersParallel(file, parallel);
+
+        assertEquals(input.lines().count(), sequentialLines);
+        assertEquals(input.lines().count(), parallelLines);
+        assertEquals(expected.toString(), Files.readString(sequential));
+        assertEquals(expected.toString(), Files.readString(parallel));
+    }
+}
@@ -0,0 +1,143 @@
+package com.kloudly.stringrecipes;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PalindromeEngineTest {
+    private static PalindromeEngine bean;
+    private static ForkJoinPool pool;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void setUp(){
+        pool = new ForkJoinPool(4);
+        bean = new PalindromeEngine(pool, 3, 16);
+    }
+
+    @AfterAll
+    static void tearDown(){
+        pool.shutdown();
+    }
+
+    @Test
+    void testIsPalindrome(){
+        //Given
+        byte[] latin1 = "xlevelx".getBytes(StandardCharsets.ISO_8859_1);
+        //When
+        //Then
+        assertTrue(bean.isPalindrome("level"));
+        assertTrue(bean.isPalindrome("abba"));
+        assertTrue(bean.isPalindrome(""));
+        assertFalse(bean.isPalindrome("levels"));
+        assertTrue(bean.isPalindrome(latin1, 1, 5));
+        assertFalse(bean.isPalindrome(latin1, 0, 6));
+    }
+
+    @Test
+    void testLongestPalindromicSubstring(){
+        //Given
+        //When
+        //Then
+        assertEquals("anana", bean.longestPalindromicSubstring("bananas"));
+        assertEquals("abba", bean.longestPalindromicSubstring("xabbay"));
+        assertEquals("a", bean.longestPalindromicSubstring("abc"));
+        assertEquals("", bean.longestPalindromicSubstring(""));
+    }
+
+    @Test
+    void testCountPalindromicSubstrings(){
+        //Given
+        //When
+        //Then
+        assertEquals(6, bean.countPalindromicSubstrings("aaa"));
+        assertEquals(3, bean.countPalindromicSubstrings("abc"));
+        assertEquals(0, bean.countPalindromicSubstrings(""));
+    }
+
+    @Test
+    void testManacherAgainstBruteForce(){
+        //Given
+        Random random = new Random(14);
+        for(int round = 0; round < 200; round++){
+            char[] chars = new char[random.nextInt(40)];
+            for(int i = 0; i < chars.length; i++){
+                chars[i] = (char) ('a' + random.nextInt(3));
+            }
+            String input = new String(chars);
+            long expectedCount = 0;
+            String expectedLongest = "";
+            for(int from = 0; from < chars.length; from++){
+                for(int to = from + 1; to <= chars.length; to++){
+                    String candidate = input.substring(from, to);
+                    if(bean.isPalindrome(candidate)){
+                        expectedCount++;
+                        if(candidate.length() > expectedLongest.length())
+                            expectedLongest = candidate;
+                    }
+                }
+            }
+            //When
+            long count = bean.countPalindromicSubstrings(input);
+            String longest = bean.longestPalindromicSubstring(input);
+            //Then
+            assertEquals(expectedCount, count, input);
+            assertEquals(expectedLongest, longest, input);
+        }
+    }
+
+    @Test
+    void testArePalindromes(){
+        //Given
+        List<String> tokens = new ArrayList<>();
+        for(int i = 0; i < 100; i++){
+            tokens.add(i % 3 == 0 ? "radar" + i + "radar" : "ab" + i + "ba");
+        }
+        //When
+        boolean[] result = bean.arePalindromes(tokens);
+        //Then
+        for(int i = 0; i < tokens.size(); i++){
+            assertEquals(bean.isPalindrome(tokens.get(i)), result[i], tokens.get(i));
+        }
+    }
+
+    @Test
+    void testPalindromesInFile() throws IOException {
+        //Given
+        Path file = tempDir.resolve("tokens.txt");
+        String content = "level kayak  java\nnoon\t \u00e9t\u00e9 \u00e9t\u00e9\r\nrotator abcdefghijklmnopqrstuvwxyzyxwvutsrqponmlkjihgfedcba x  \u00e9t\u00e9\n";
+        Files.writeString(file, content);
+        //When
+        List<String> result = bean.palindromes(file);
+        //Then
+        assertEquals(List.of("level", "kayak", "noon", "\u00e9t\u00e9", "\u00e9t\u00e9", "rotator",
+                "abcdefghijklmnopqrstuvwxyzyxwvutsrqponmlkjihgfedcba", "x", "\u00e9t\u00e9"), result);
+    }
+
+    @Test
+    void testPalindromesInEmptyFile() throws IOException {
+        //Given
+        Path file = Files.createFile(tempDir.resolve("empty.txt"));
+        //When
+        //Then
+        assertTrue(bean.palindromes(file).isEmpty());
+        assertArrayEquals(new boolean[0], bean.arePalindromes(List.of()));
+    }
+}
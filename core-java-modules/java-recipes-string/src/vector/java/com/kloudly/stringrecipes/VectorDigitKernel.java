@@ -0,0 +1,45 @@
+package com.kloudly.stringrecipes;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Digit check on the widest byte vectors of the platform, the tail being
+ * left to the SWAR kernel. Only compiled by the vector profile, and loaded
+ * by DigitValidator.vectorIfAvailable.
+ */
+final class VectorDigitKernel implements DigitValidator.DigitKernel {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final byte ZERO = '0';
+    private static final byte NINE = '9';
+
+    private final DigitValidator.SwarKernel tail = new DigitValidator.SwarKernel();
+
+    @Override
+    public boolean containsOnlyDigits(byte[] input, int from, int to){
+        int i = from;
+        for(; i + SPECIES.length() <= to; i += SPECIES.length()){
+            if(!areDigits(ByteVector.fromArray(SPECIES, input, i)))
+                return false;
+        }
+        return tail.containsOnlyDigits(input, i, to);
+    }
+
+    @Override
+    public boolean containsOnlyDigits(ByteBuffer input, int from, int to){
+        int i = from;
+        for(; i + SPECIES.length() <= to; i += SPECIES.length()){
+            if(!areDigits(ByteVector.fromByteBuffer(SPECIES, input, i, ByteOrder.nativeOrder())))
+                return false;
+        }
+        return tail.containsOnlyDigits(input, i, to);
+    }
+
+    private static boolean areDigits(ByteVector bytes){
+        return !bytes.compare(VectorOperators.LT, ZERO).or(bytes.compare(VectorOperators.GT, NINE)).anyTrue();
+    }
+}